@@ -0,0 +1,91 @@
+package org.example.s29624tpo11.benchmarks;
+
+import org.example.s29624tpo11.S29624Tpo11Application;
+import org.example.s29624tpo11.services.IdGenerator;
+import org.example.s29624tpo11.services.LinkFilters;
+import org.example.s29624tpo11.services.LinkService;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Boots the application against a private in-memory H2 database and seeds {@link #links} rows.
+ */
+@State(Scope.Benchmark)
+public class BenchmarkContext {
+
+    private static final int SEED_BATCH = 10_000;
+
+    @Param({"10000", "1000000"})
+    public int links;
+
+    public ConfigurableApplicationContext context;
+    public LinkService linkService;
+    public IdGenerator idGenerator;
+    public String[] ids;
+    public String[] names;
+
+    private final AtomicLong created = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(S29624Tpo11Application.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:bench-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN")
+                .run();
+        linkService = context.getBean(LinkService.class);
+        idGenerator = context.getBean(IdGenerator.class);
+        seed(context.getBean(JdbcTemplate.class));
+        // Seeded with plain SQL, so the id and name filters have to be rebuilt to know the rows.
+        context.getBean(LinkFilters.class).rebuild();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    public String randomId() {
+        return ids[ThreadLocalRandom.current().nextInt(ids.length)];
+    }
+
+    public String randomName() {
+        return names[ThreadLocalRandom.current().nextInt(names.length)];
+    }
+
+    public String uniqueName() {
+        return "jmh-" + Long.toString(created.incrementAndGet(), 36);
+    }
+
+    private void seed(JdbcTemplate jdbcTemplate) {
+        ids = new String[links];
+        names = new String[links];
+        List<Object[]> batch = new ArrayList<>(SEED_BATCH);
+        for (int i = 0; i < links; i++) {
+            ids[i] = idGenerator.nextId();
+            names[i] = "bench-" + i;
+            batch.add(new Object[]{ids[i], names[i], names[i], "https://example.com/" + i});
+            if (batch.size() == SEED_BATCH || i == links - 1) {
+                jdbcTemplate.batchUpdate(
+                        "INSERT INTO links (id, name, name_key, target_url, visits) VALUES (?, ?, ?, ?, 0)", batch);
+                batch.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package org.example.s29624tpo11.benchmarks;
+
+import org.example.s29624tpo11.DTOs.CreateLinkDTO;
+import org.example.s29624tpo11.DTOs.ResponseDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+
+public class CreateLinkBenchmark {
+
+    @Benchmark
+    public ResponseDTO createLink(BenchmarkContext ctx) {
+        return ctx.linkService.createLink(new CreateLinkDTO(ctx.uniqueName(), "https://example.com/created", null));
+    }
+
+    @Benchmark
+    public String generateId(BenchmarkContext ctx) {
+        return ctx.idGenerator.nextId();
+    }
+}
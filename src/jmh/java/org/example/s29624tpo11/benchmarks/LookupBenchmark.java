@@ -0,0 +1,17 @@
+package org.example.s29624tpo11.benchmarks;
+
+import org.example.s29624tpo11.DTOs.ResponseDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+
+public class LookupBenchmark {
+
+    @Benchmark
+    public ResponseDTO getLinkByName(BenchmarkContext ctx) {
+        return ctx.linkService.getLinkByName(ctx.randomName(), null);
+    }
+
+    @Benchmark
+    public ResponseDTO getLinkById(BenchmarkContext ctx) {
+        return ctx.linkService.getLinkById(ctx.randomId());
+    }
+}
@@ -0,0 +1,20 @@
+package org.example.s29624tpo11.benchmarks;
+
+import org.example.s29624tpo11.DTOs.LinkSearchPageDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+
+import java.util.Locale;
+
+/**
+ * Prefix search through the {@code name_key} index. The prefix drops the last character of a
+ * random seeded name and is upper-cased, so every call matches a handful of rows case-insensitively.
+ */
+public class NameSearchBenchmark {
+
+    @Benchmark
+    public LinkSearchPageDTO searchByPrefix(BenchmarkContext ctx) {
+        String name = ctx.randomName();
+        String prefix = name.substring(0, name.length() - 1).toUpperCase(Locale.ROOT);
+        return ctx.linkService.searchByPrefix(prefix, 0, 20);
+    }
+}
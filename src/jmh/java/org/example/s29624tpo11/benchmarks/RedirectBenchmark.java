@@ -0,0 +1,16 @@
+package org.example.s29624tpo11.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+
+public class RedirectBenchmark {
+
+    @Benchmark
+    public String redirectUniform(BenchmarkContext ctx) {
+        return ctx.linkService.redirectAndIncrement(ctx.randomId());
+    }
+
+    @Benchmark
+    public String redirectHotLink(BenchmarkContext ctx) {
+        return ctx.linkService.redirectAndIncrement(ctx.ids[0]);
+    }
+}
@@ -0,0 +1,43 @@
+package org.example.s29624tpo11.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.s29624tpo11.DTOs.ResponseDTO;
+import org.example.s29624tpo11.models.Link;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Benchmark)
+public class ResponseDtoBenchmark {
+
+    private static final String BASE_URL = "http://localhost:8080";
+
+    private ObjectMapper objectMapper;
+    private Link link;
+    private ResponseDTO response;
+
+    @Setup
+    public void setup() {
+        objectMapper = new ObjectMapper();
+        link = new Link("bqfCckkRpf", "benchmark-link", "https://example.com/some/longer/target/path?q=1", null);
+        link.setVisits(123_456L);
+        response = new ResponseDTO(link, BASE_URL);
+    }
+
+    @Benchmark
+    public ResponseDTO construct() {
+        return new ResponseDTO(link, BASE_URL);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] constructAndSerialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(new ResponseDTO(link, BASE_URL));
+    }
+}
@@ -0,0 +1,300 @@
+package org.example.s29624tpo11.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Minimal HTTP load generator for comparing builds and configurations of the service.
+ * Seeds links through the batch API, then hammers one scenario for a fixed duration and prints
+ * throughput and latency percentiles, followed by the same numbers as a single JSON line.
+ * <p>
+ * Usage: {@code ./gradlew loadTest -PloadTestArgs="scenario=redirect concurrency=256 duration=60"}
+ * <p>
+ * With {@code expiring=0.5}, half of the seeded links get an {@code expiresAt} spread evenly over
+ * the measured run, so the expiry sweep runs (and redirects start answering 410) under load.
+ * <p>
+ * {@code permanent=0.5} makes half of the seeded links 301/cacheable, and {@code clientCache=true}
+ * puts an emulated browser/CDN cache in front of the service: fresh cached redirects are served
+ * without a request, and API reads are revalidated with {@code If-None-Match}. The share of
+ * requests that never reached the origin is reported as {@code offloaded}.
+ */
+public class LoadTest {
+
+    private static final Pattern ID_PATTERN = Pattern.compile("\"id\"\\s*:\\s*\"([A-Za-z0-9]+)\"");
+    private static final Pattern MAX_AGE_PATTERN = Pattern.compile("max-age=(\\d+)");
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq > 0) {
+                options.put(arg.substring(0, eq), arg.substring(eq + 1));
+            }
+        }
+
+        String baseUrl = options.getOrDefault("url", "http://localhost:8080");
+        String scenario = options.getOrDefault("scenario", "redirect");
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "64"));
+        int durationSeconds = Integer.parseInt(options.getOrDefault("duration", "30"));
+        int warmupSeconds = Integer.parseInt(options.getOrDefault("warmup", "5"));
+        int links = Integer.parseInt(options.getOrDefault("links", "1000"));
+        double expiring = Double.parseDouble(options.getOrDefault("expiring", "0"));
+        double permanent = Double.parseDouble(options.getOrDefault("permanent", "0"));
+        ClientCache cache = Boolean.parseBoolean(options.getOrDefault("clientCache", "false")) ? new ClientCache() : null;
+
+        HttpClient client = HttpClient.newBuilder()
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        String run = Long.toString(System.currentTimeMillis(), 36);
+        long expiryStart = System.currentTimeMillis() + Duration.ofSeconds(warmupSeconds).toMillis();
+        Expiry expiry = new Expiry((int) (links * expiring), expiryStart, Duration.ofSeconds(durationSeconds).toMillis());
+        List<String> ids = seed(client, baseUrl, run, links, expiry, (int) Math.round(permanent * 100));
+        Scenario requests = Scenario.of(scenario, baseUrl, run, ids);
+
+        run(client, requests, cache, concurrency, warmupSeconds);
+        Result result = run(client, requests, cache, concurrency, durationSeconds);
+        result.print(scenario, concurrency);
+    }
+
+    private static List<String> seed(HttpClient client, String baseUrl, String run, int count, Expiry expiry,
+                                     int permanentPercent) throws Exception {
+        List<String> ids = new ArrayList<>(count);
+        for (int from = 0; from < count; from += 1000) {
+            StringBuilder body = new StringBuilder();
+            for (int i = from; i < Math.min(from + 1000, count); i++) {
+                body.append("{\"name\":\"lt-").append(run).append('-').append(i)
+                        .append("\",\"targetUrl\":\"https://example.com/").append(i).append('"');
+                if (i % 100 < permanentPercent) {
+                    body.append(",\"redirectType\":\"PERMANENT\"");
+                }
+                if (i < expiry.links()) {
+                    body.append(",\"expiresAt\":\"").append(expiry.at(i)).append('"');
+                }
+                body.append("}\n");
+            }
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/links/batch?partial=true"))
+                    .header("Content-Type", "application/x-ndjson")
+                    .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+                    .build();
+            String response = client.send(request, HttpResponse.BodyHandlers.ofString()).body();
+            Matcher matcher = ID_PATTERN.matcher(response);
+            while (matcher.find()) {
+                ids.add(matcher.group(1));
+            }
+        }
+        if (ids.isEmpty()) {
+            throw new IllegalStateException("Seeding created no links");
+        }
+        return ids;
+    }
+
+    private static Result run(HttpClient client, Scenario scenario, ClientCache cache, int concurrency, int seconds)
+            throws Exception {
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        Result result = new Result(seconds);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int worker = 0; worker < concurrency; worker++) {
+                executor.submit(() -> {
+                    long[] latencies = new long[1 << 16];
+                    int recorded = 0;
+                    while (System.nanoTime() < deadline) {
+                        HttpRequest request = scenario.next();
+                        if (cache != null) {
+                            if (cache.isFresh(request.uri())) {
+                                result.offloaded.increment();
+                                continue;
+                            }
+                            request = cache.conditional(request);
+                        }
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                            result.status(response.statusCode());
+                            result.bytes.add(response.body().length);
+                            if (cache != null) {
+                                cache.store(request.uri(), response);
+                            }
+                        } catch (Exception e) {
+                            result.status(-1);
+                        }
+                        if (recorded == latencies.length) {
+                            latencies = Arrays.copyOf(latencies, recorded * 2);
+                        }
+                        latencies[recorded++] = System.nanoTime() - start;
+                    }
+                    result.add(Arrays.copyOf(latencies, recorded));
+                    return null;
+                });
+            }
+        }
+        return result;
+    }
+
+    record Expiry(int links, long start, long window) {
+
+        Instant at(int index) {
+            return Instant.ofEpochMilli(start + window * (index + 1) / links);
+        }
+    }
+
+    /**
+     * Shared cache honouring {@code Cache-Control: max-age} on redirects and remembering ETags,
+     * like a CDN edge in front of the service.
+     */
+    static class ClientCache {
+
+        private record Entry(long freshUntil, String etag) {}
+
+        private final Map<URI, Entry> entries = new ConcurrentHashMap<>();
+
+        boolean isFresh(URI uri) {
+            Entry entry = entries.get(uri);
+            return entry != null && entry.freshUntil() > System.nanoTime();
+        }
+
+        HttpRequest conditional(HttpRequest request) {
+            Entry entry = entries.get(request.uri());
+            if (entry == null || entry.etag() == null) {
+                return request;
+            }
+            return HttpRequest.newBuilder(request, (name, value) -> true).header("If-None-Match", entry.etag()).build();
+        }
+
+        void store(URI uri, HttpResponse<?> response) {
+            if (response.statusCode() == 304) {
+                return;
+            }
+            long maxAge = response.headers().firstValue("Cache-Control")
+                    .map(ClientCache::maxAge).orElse(0L);
+            String etag = response.headers().firstValue("ETag").orElse(null);
+            if (maxAge > 0 || etag != null) {
+                entries.put(uri, new Entry(System.nanoTime() + Duration.ofSeconds(maxAge).toNanos(), etag));
+            } else {
+                entries.remove(uri);
+            }
+        }
+
+        private static long maxAge(String cacheControl) {
+            Matcher matcher = MAX_AGE_PATTERN.matcher(cacheControl);
+            return matcher.find() && !cacheControl.contains("no-store") ? Long.parseLong(matcher.group(1)) : 0;
+        }
+    }
+
+    interface Scenario {
+
+        HttpRequest next();
+
+        static Scenario of(String name, String baseUrl, String run, List<String> ids) {
+            AtomicLong sequence = new AtomicLong();
+            return switch (name) {
+                case "redirect" -> () -> get(baseUrl + "/red/" + random(ids));
+                case "lookup" -> () -> get(baseUrl + "/api/links/" + random(ids));
+                case "miss" -> () -> get(baseUrl + "/red/" + randomId());
+                case "page" -> () -> compressed(baseUrl + switch ((int) (sequence.incrementAndGet() % 4)) {
+                    case 0 -> "/";
+                    case 1 -> "/create";
+                    case 2 -> "/search";
+                    default -> "/link/" + random(ids);
+                });
+                case "asset" -> () -> compressed(baseUrl + "/styles.css");
+                case "create" -> () -> HttpRequest.newBuilder(URI.create(baseUrl + "/api/links"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString("{\"name\":\"c-" + run + "-"
+                                + Long.toString(sequence.incrementAndGet(), 36) + "\",\"targetUrl\":\"https://example.com/c\"}"))
+                        .build();
+                default -> throw new IllegalArgumentException("Unknown scenario: " + name);
+            };
+        }
+
+        private static HttpRequest get(String url) {
+            return HttpRequest.newBuilder(URI.create(url)).GET().build();
+        }
+
+        // Bytes are counted as received, so compressed responses show up as smaller bytes/req.
+        private static HttpRequest compressed(String url) {
+            return HttpRequest.newBuilder(URI.create(url)).header("Accept-Encoding", "br, gzip").GET().build();
+        }
+
+        private static String random(List<String> ids) {
+            return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+        }
+
+        private static String randomId() {
+            String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz";
+            char[] chars = new char[10];
+            for (int i = 0; i < chars.length; i++) {
+                chars[i] = alphabet.charAt(ThreadLocalRandom.current().nextInt(alphabet.length()));
+            }
+            return new String(chars);
+        }
+    }
+
+    static class Result {
+
+        private final int seconds;
+        private final List<long[]> latencies = new ArrayList<>();
+        private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+        private final LongAdder bytes = new LongAdder();
+        private final LongAdder offloaded = new LongAdder();
+
+        Result(int seconds) {
+            this.seconds = seconds;
+        }
+
+        void status(int code) {
+            statuses.computeIfAbsent(code, key -> new LongAdder()).increment();
+        }
+
+        synchronized void add(long[] workerLatencies) {
+            latencies.add(workerLatencies);
+        }
+
+        void print(String scenario, int concurrency) {
+            long[] all = latencies.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+            double throughput = all.length / (double) seconds;
+            System.out.printf("scenario=%s concurrency=%d requests=%d throughput=%.1f req/s%n",
+                    scenario, concurrency, all.length, throughput);
+            System.out.printf("p50=%.2f ms p90=%.2f ms p99=%.2f ms max=%.2f ms bytes/req=%.1f%n",
+                    percentile(all, 50), percentile(all, 90), percentile(all, 99), percentile(all, 100),
+                    all.length == 0 ? 0 : bytes.sum() / (double) all.length);
+            long served = all.length + offloaded.sum();
+            System.out.printf("offloaded=%d (%.1f%% of %d requests never reached the service)%n",
+                    offloaded.sum(), served == 0 ? 0 : 100.0 * offloaded.sum() / served, served);
+            System.out.println("statuses=" + statuses);
+            System.out.printf(Locale.ROOT, "{\"scenario\":\"%s\",\"concurrency\":%d,\"requests\":%d,\"throughput\":%.1f,"
+                            + "\"p50\":%.3f,\"p90\":%.3f,\"p99\":%.3f,\"max\":%.3f,\"bytes\":%d,\"offloaded\":%d}%n",
+                    scenario, concurrency, all.length, throughput,
+                    percentile(all, 50), percentile(all, 90), percentile(all, 99), percentile(all, 100), bytes.sum(),
+                    offloaded.sum());
+        }
+
+        private static double percentile(long[] sorted, double percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package org.example.s29624tpo11.loadtest;
+
+import java.io.File;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Launches the application jar several times and measures, per run, the time from process start
+ * until {@code /actuator/health/readiness} answers 200, and the latency of the first and second
+ * {@code /red/{id}} for a link created right after readiness. Prints one line per run and the
+ * medians as JSON.
+ * <p>
+ * Usage: {@code ./gradlew startupBenchmark -PstartupArgs="jar=build/cds/app.jar cds=build/cds/application.jsa aot=true"}
+ */
+public class StartupProbe {
+
+    private static final Pattern ID_PATTERN = Pattern.compile("\"id\"\\s*:\\s*\"([A-Za-z0-9]+)\"");
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq > 0) {
+                options.put(arg.substring(0, eq), arg.substring(eq + 1));
+            }
+        }
+        String jar = options.get("jar");
+        if (jar == null) {
+            throw new IllegalArgumentException("jar=<path to the application jar> is required");
+        }
+        int runs = Integer.parseInt(options.getOrDefault("runs", "5"));
+        int port = Integer.parseInt(options.getOrDefault("port", "8080"));
+
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        if (options.containsKey("cds")) {
+            command.add("-XX:SharedArchiveFile=" + options.get("cds"));
+        }
+        if (Boolean.parseBoolean(options.getOrDefault("aot", "false"))) {
+            command.add("-Dspring.aot.enabled=true");
+        }
+        command.add("-jar");
+        command.add(jar);
+        command.add("--server.port=" + port);
+        command.add("--spring.datasource.url=jdbc:h2:mem:startup-probe");
+        if (options.containsKey("args")) {
+            command.addAll(Arrays.asList(options.get("args").split(",")));
+        }
+
+        HttpClient client = HttpClient.newBuilder()
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .connectTimeout(Duration.ofSeconds(1))
+                .build();
+        String baseUrl = "http://localhost:" + port;
+
+        double[] ready = new double[runs];
+        double[] first = new double[runs];
+        double[] second = new double[runs];
+        for (int run = 0; run < runs; run++) {
+            long start = System.nanoTime();
+            Process process = new ProcessBuilder(command)
+                    .redirectErrorStream(true)
+                    .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                    .start();
+            try {
+                awaitReady(client, baseUrl, process);
+                ready[run] = millisSince(start);
+
+                String id = createLink(client, baseUrl, run);
+                HttpRequest redirect = HttpRequest.newBuilder(URI.create(baseUrl + "/red/" + id)).GET().build();
+                long firstStart = System.nanoTime();
+                client.send(redirect, HttpResponse.BodyHandlers.discarding());
+                first[run] = millisSince(firstStart);
+                long secondStart = System.nanoTime();
+                client.send(redirect, HttpResponse.BodyHandlers.discarding());
+                second[run] = millisSince(secondStart);
+            } finally {
+                process.destroy();
+                process.waitFor();
+            }
+            System.out.printf(Locale.ROOT, "run=%d ready=%.0f ms firstRedirect=%.2f ms secondRedirect=%.2f ms%n",
+                    run + 1, ready[run], first[run], second[run]);
+        }
+        System.out.printf(Locale.ROOT, "{\"jar\":\"%s\",\"cds\":%b,\"aot\":%s,\"runs\":%d,"
+                        + "\"readyMs\":%.0f,\"firstRedirectMs\":%.2f,\"secondRedirectMs\":%.2f}%n",
+                new File(jar).getName(), options.containsKey("cds"), options.getOrDefault("aot", "false"), runs,
+                median(ready), median(first), median(second));
+    }
+
+    private static void awaitReady(HttpClient client, String baseUrl, Process process) throws Exception {
+        HttpRequest readiness = HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/health/readiness")).GET().build();
+        long deadline = System.nanoTime() + Duration.ofMinutes(2).toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Application exited with " + process.exitValue());
+            }
+            try {
+                if (client.send(readiness, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (java.io.IOException notListeningYet) {
+                // keep polling
+            }
+            Thread.sleep(10);
+        }
+        throw new IllegalStateException("Application did not become ready within 2 minutes");
+    }
+
+    private static String createLink(HttpClient client, String baseUrl, int run) throws Exception {
+        String name = "probe-" + run + "-" + Long.toString(System.currentTimeMillis() % 1_000_000, 36);
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/links"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"name\":\"" + name + "\",\"targetUrl\":\"https://example.com/probe\"}"))
+                .build();
+        String body = client.send(request, HttpResponse.BodyHandlers.ofString()).body();
+        Matcher matcher = ID_PATTERN.matcher(body);
+        if (!matcher.find()) {
+            throw new IllegalStateException("Could not create a link: " + body);
+        }
+        return matcher.group(1);
+    }
+
+    private static double millisSince(long start) {
+        return (System.nanoTime() - start) / 1_000_000.0;
+    }
+
+    private static double median(double[] values) {
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+}
@@ -0,0 +1,39 @@
+package org.example.s29624tpo11.DTOs;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.Map;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchItemResultDTO {
+
+    public enum Status { CREATED, INVALID, DUPLICATE, FAILED, SKIPPED }
+
+    private int index;
+    private Status status;
+    private ResponseDTO link;
+    private String error;
+    private Map<String, String> errors;
+
+    public BatchItemResultDTO() {}
+
+    public BatchItemResultDTO(int index, Status status) {
+        this.index = index;
+        this.status = status;
+    }
+
+    public int getIndex() { return index; }
+    public void setIndex(int index) { this.index = index; }
+
+    public Status getStatus() { return status; }
+    public void setStatus(Status status) { this.status = status; }
+
+    public ResponseDTO getLink() { return link; }
+    public void setLink(ResponseDTO link) { this.link = link; }
+
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+
+    public Map<String, String> getErrors() { return errors; }
+    public void setErrors(Map<String, String> errors) { this.errors = errors; }
+}
@@ -0,0 +1,32 @@
+package org.example.s29624tpo11.DTOs;
+
+import java.util.List;
+
+public class BatchResponseDTO {
+
+    private int created;
+    private int failed;
+    private List<BatchItemResultDTO> results;
+
+    public BatchResponseDTO() {}
+
+    public BatchResponseDTO(List<BatchItemResultDTO> results) {
+        this.results = results;
+        for (BatchItemResultDTO result : results) {
+            if (result.getStatus() == BatchItemResultDTO.Status.CREATED) {
+                created++;
+            } else {
+                failed++;
+            }
+        }
+    }
+
+    public int getCreated() { return created; }
+    public void setCreated(int created) { this.created = created; }
+
+    public int getFailed() { return failed; }
+    public void setFailed(int failed) { this.failed = failed; }
+
+    public List<BatchItemResultDTO> getResults() { return results; }
+    public void setResults(List<BatchItemResultDTO> results) { this.results = results; }
+}
@@ -0,0 +1,22 @@
+package org.example.s29624tpo11.DTOs;
+
+import java.time.Instant;
+
+public class ClickBucketDTO {
+
+    private Instant bucketStart;
+    private long clicks;
+
+    public ClickBucketDTO() {}
+
+    public ClickBucketDTO(Instant bucketStart, long clicks) {
+        this.bucketStart = bucketStart;
+        this.clicks = clicks;
+    }
+
+    public Instant getBucketStart() { return bucketStart; }
+    public void setBucketStart(Instant bucketStart) { this.bucketStart = bucketStart; }
+
+    public long getClicks() { return clicks; }
+    public void setClicks(long clicks) { this.clicks = clicks; }
+}
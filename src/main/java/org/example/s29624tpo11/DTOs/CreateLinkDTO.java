@@ -1,10 +1,16 @@
 package org.example.s29624tpo11.DTOs;
 
+import jakarta.validation.constraints.Future;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.Size;
+import org.example.s29624tpo11.models.RedirectType;
 import org.hibernate.validator.constraints.Length;
 
+import java.time.Instant;
+
 public class CreateLinkDTO {
 
     @NotBlank(message = "{name.notblank}")
@@ -25,6 +31,17 @@ public class CreateLinkDTO {
     @Length(max = 100, message = "Password cannot exceed 100 characters")
     private String password;
 
+    @Future(message = "{expires.future}")
+    private Instant expiresAt;
+
+    @Positive(message = "{maxvisits.positive}")
+    private Long maxVisits;
+
+    private RedirectType redirectType;
+
+    @PositiveOrZero(message = "{maxage.positive}")
+    private Long maxAge;
+
     public CreateLinkDTO() {}
 
     public CreateLinkDTO(String name, String targetUrl, String password) {
@@ -41,4 +58,16 @@ public class CreateLinkDTO {
 
     public String getPassword() { return password; }
     public void setPassword(String password) { this.password = password; }
+
+    public Instant getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(Instant expiresAt) { this.expiresAt = expiresAt; }
+
+    public Long getMaxVisits() { return maxVisits; }
+    public void setMaxVisits(Long maxVisits) { this.maxVisits = maxVisits; }
+
+    public RedirectType getRedirectType() { return redirectType; }
+    public void setRedirectType(RedirectType redirectType) { this.redirectType = redirectType; }
+
+    public Long getMaxAge() { return maxAge; }
+    public void setMaxAge(Long maxAge) { this.maxAge = maxAge; }
 }
\ No newline at end of file
@@ -0,0 +1,23 @@
+package org.example.s29624tpo11.DTOs;
+
+public class ImportResultDTO {
+
+    private long read;
+    private long imported;
+    private long skipped;
+    private long invalid;
+
+    public ImportResultDTO() {}
+
+    public long getRead() { return read; }
+    public void setRead(long read) { this.read = read; }
+
+    public long getImported() { return imported; }
+    public void setImported(long imported) { this.imported = imported; }
+
+    public long getSkipped() { return skipped; }
+    public void setSkipped(long skipped) { this.skipped = skipped; }
+
+    public long getInvalid() { return invalid; }
+    public void setInvalid(long invalid) { this.invalid = invalid; }
+}
@@ -0,0 +1,62 @@
+package org.example.s29624tpo11.DTOs;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.example.s29624tpo11.models.Link;
+import org.example.s29624tpo11.models.RedirectType;
+
+import java.time.Instant;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class LinkExportDTO {
+
+    private String id;
+    private String name;
+    private String targetUrl;
+    private Long visits;
+    private String passwordHash;
+    private Instant expiresAt;
+    private Long maxVisits;
+    private RedirectType redirectType;
+    private Long maxAge;
+
+    public LinkExportDTO() {}
+
+    public LinkExportDTO(Link link, String passwordHash) {
+        this.id = link.getId();
+        this.name = link.getName();
+        this.targetUrl = link.getTargetUrl();
+        this.visits = link.getVisits();
+        this.passwordHash = passwordHash;
+        this.expiresAt = link.getExpiresAt();
+        this.maxVisits = link.getMaxVisits();
+        this.redirectType = link.getRedirectType() == RedirectType.PERMANENT ? RedirectType.PERMANENT : null;
+        this.maxAge = link.getMaxAge();
+    }
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public String getTargetUrl() { return targetUrl; }
+    public void setTargetUrl(String targetUrl) { this.targetUrl = targetUrl; }
+
+    public Long getVisits() { return visits; }
+    public void setVisits(Long visits) { this.visits = visits; }
+
+    public String getPasswordHash() { return passwordHash; }
+    public void setPasswordHash(String passwordHash) { this.passwordHash = passwordHash; }
+
+    public Instant getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(Instant expiresAt) { this.expiresAt = expiresAt; }
+
+    public Long getMaxVisits() { return maxVisits; }
+    public void setMaxVisits(Long maxVisits) { this.maxVisits = maxVisits; }
+
+    public RedirectType getRedirectType() { return redirectType; }
+    public void setRedirectType(RedirectType redirectType) { this.redirectType = redirectType; }
+
+    public Long getMaxAge() { return maxAge; }
+    public void setMaxAge(Long maxAge) { this.maxAge = maxAge; }
+}
@@ -0,0 +1,22 @@
+package org.example.s29624tpo11.DTOs;
+
+import java.util.List;
+
+public class LinkPageDTO {
+
+    private List<ResponseDTO> items;
+    private String nextCursor;
+
+    public LinkPageDTO() {}
+
+    public LinkPageDTO(List<ResponseDTO> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<ResponseDTO> getItems() { return items; }
+    public void setItems(List<ResponseDTO> items) { this.items = items; }
+
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+}
@@ -0,0 +1,37 @@
+package org.example.s29624tpo11.DTOs;
+
+import java.util.List;
+
+public class LinkSearchPageDTO {
+
+    private String prefix;
+    private int page;
+    private int size;
+    private boolean hasNext;
+    private List<LinkSummaryDTO> items;
+
+    public LinkSearchPageDTO() {}
+
+    public LinkSearchPageDTO(String prefix, int page, int size, boolean hasNext, List<LinkSummaryDTO> items) {
+        this.prefix = prefix;
+        this.page = page;
+        this.size = size;
+        this.hasNext = hasNext;
+        this.items = items;
+    }
+
+    public String getPrefix() { return prefix; }
+    public void setPrefix(String prefix) { this.prefix = prefix; }
+
+    public int getPage() { return page; }
+    public void setPage(int page) { this.page = page; }
+
+    public int getSize() { return size; }
+    public void setSize(int size) { this.size = size; }
+
+    public boolean isHasNext() { return hasNext; }
+    public void setHasNext(boolean hasNext) { this.hasNext = hasNext; }
+
+    public List<LinkSummaryDTO> getItems() { return items; }
+    public void setItems(List<LinkSummaryDTO> items) { this.items = items; }
+}
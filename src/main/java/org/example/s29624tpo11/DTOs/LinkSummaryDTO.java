@@ -0,0 +1,39 @@
+package org.example.s29624tpo11.DTOs;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.example.s29624tpo11.models.Link;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class LinkSummaryDTO {
+
+    private String id;
+    private String name;
+    private String targetUrl;
+    private String redirectUrl;
+    private boolean passwordProtected;
+
+    public LinkSummaryDTO() {}
+
+    public LinkSummaryDTO(Link link, String baseUrl) {
+        this.id = link.getId();
+        this.name = link.getName();
+        this.passwordProtected = link.hasPassword();
+        this.targetUrl = passwordProtected ? null : link.getTargetUrl();
+        this.redirectUrl = baseUrl + "/red/" + link.getId();
+    }
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public String getTargetUrl() { return targetUrl; }
+    public void setTargetUrl(String targetUrl) { this.targetUrl = targetUrl; }
+
+    public String getRedirectUrl() { return redirectUrl; }
+    public void setRedirectUrl(String redirectUrl) { this.redirectUrl = redirectUrl; }
+
+    public boolean isPasswordProtected() { return passwordProtected; }
+    public void setPasswordProtected(boolean passwordProtected) { this.passwordProtected = passwordProtected; }
+}
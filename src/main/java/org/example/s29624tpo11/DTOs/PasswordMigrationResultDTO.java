@@ -0,0 +1,19 @@
+package org.example.s29624tpo11.DTOs;
+
+public class PasswordMigrationResultDTO {
+
+    private long scanned;
+    private long rehashed;
+    private boolean alreadyRunning;
+
+    public PasswordMigrationResultDTO() {}
+
+    public long getScanned() { return scanned; }
+    public void setScanned(long scanned) { this.scanned = scanned; }
+
+    public long getRehashed() { return rehashed; }
+    public void setRehashed(long rehashed) { this.rehashed = rehashed; }
+
+    public boolean isAlreadyRunning() { return alreadyRunning; }
+    public void setAlreadyRunning(boolean alreadyRunning) { this.alreadyRunning = alreadyRunning; }
+}
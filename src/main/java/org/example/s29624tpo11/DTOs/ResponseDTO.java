@@ -1,15 +1,37 @@
 package org.example.s29624tpo11.DTOs;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import org.example.s29624tpo11.models.Link;
+import org.example.s29624tpo11.models.RedirectType;
+
+import java.time.Instant;
 
 public class ResponseDTO {
 
     private String id;
     private String name;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private String targetUrl;
+
     private String redirectUrl;
     private Long visits;
 
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Instant expiresAt;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long maxVisits;
+
+    private RedirectType redirectType;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long maxAge;
+
+    @JsonIgnore
+    private long version;
+
     public ResponseDTO() {}
 
     public ResponseDTO(Link link, String baseUrl) {
@@ -18,6 +40,11 @@ public class ResponseDTO {
         this.targetUrl = link.getTargetUrl();
         this.redirectUrl = baseUrl + "/red/" + link.getId();
         this.visits = link.getVisits();
+        this.expiresAt = link.getExpiresAt();
+        this.maxVisits = link.getMaxVisits();
+        this.redirectType = link.getRedirectType();
+        this.maxAge = link.getMaxAge();
+        this.version = link.getVersion();
     }
 
     public String getId() { return id; }
@@ -34,4 +61,27 @@ public class ResponseDTO {
 
     public Long getVisits() { return visits; }
     public void setVisits(Long visits) { this.visits = visits; }
+
+    public Instant getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(Instant expiresAt) { this.expiresAt = expiresAt; }
+
+    public Long getMaxVisits() { return maxVisits; }
+    public void setMaxVisits(Long maxVisits) { this.maxVisits = maxVisits; }
+
+    public RedirectType getRedirectType() { return redirectType; }
+    public void setRedirectType(RedirectType redirectType) { this.redirectType = redirectType; }
+
+    public Long getMaxAge() { return maxAge; }
+    public void setMaxAge(Long maxAge) { this.maxAge = maxAge; }
+
+    @JsonIgnore
+    public long getVersion() { return version; }
+    public void setVersion(long version) { this.version = version; }
+
+    /**
+     * Strong validator for this representation: the row version covers every edit, the visit
+     * count (bumped outside the entity) is appended.
+     */
+    @JsonIgnore
+    public String getETag() { return "\"" + version + "." + visits + "\""; }
 }
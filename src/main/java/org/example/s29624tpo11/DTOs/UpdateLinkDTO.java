@@ -1,7 +1,9 @@
 package org.example.s29624tpo11.DTOs;
 
 import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.PositiveOrZero;
 import jakarta.validation.constraints.Size;
+import org.example.s29624tpo11.models.RedirectType;
 import org.hibernate.validator.constraints.Length;
 
 public class UpdateLinkDTO {
@@ -22,6 +24,11 @@ public class UpdateLinkDTO {
     @Length(max = 100, message = "Password cannot exceed 100 characters")
     private String password;
 
+    private RedirectType redirectType;
+
+    @PositiveOrZero(message = "{maxage.positive}")
+    private Long maxAge;
+
     public UpdateLinkDTO() {}
 
     public String getName() { return name; }
@@ -32,4 +39,10 @@ public class UpdateLinkDTO {
 
     public String getPassword() { return password; }
     public void setPassword(String password) { this.password = password; }
+
+    public RedirectType getRedirectType() { return redirectType; }
+    public void setRedirectType(RedirectType redirectType) { this.redirectType = redirectType; }
+
+    public Long getMaxAge() { return maxAge; }
+    public void setMaxAge(Long maxAge) { this.maxAge = maxAge; }
 }
\ No newline at end of file
@@ -0,0 +1,22 @@
+package org.example.s29624tpo11.DTOs;
+
+import java.time.Instant;
+
+public class VisitBucketDTO {
+
+    private Instant bucketStart;
+    private long visits;
+
+    public VisitBucketDTO() {}
+
+    public VisitBucketDTO(Instant bucketStart, long visits) {
+        this.bucketStart = bucketStart;
+        this.visits = visits;
+    }
+
+    public Instant getBucketStart() { return bucketStart; }
+    public void setBucketStart(Instant bucketStart) { this.bucketStart = bucketStart; }
+
+    public long getVisits() { return visits; }
+    public void setVisits(long visits) { this.visits = visits; }
+}
@@ -0,0 +1,22 @@
+package org.example.s29624tpo11.DTOs;
+
+import java.util.List;
+
+public class VisitSeriesDTO {
+
+    private String resolution;
+    private List<VisitBucketDTO> buckets;
+
+    public VisitSeriesDTO() {}
+
+    public VisitSeriesDTO(String resolution, List<VisitBucketDTO> buckets) {
+        this.resolution = resolution;
+        this.buckets = buckets;
+    }
+
+    public String getResolution() { return resolution; }
+    public void setResolution(String resolution) { this.resolution = resolution; }
+
+    public List<VisitBucketDTO> getBuckets() { return buckets; }
+    public void setBuckets(List<VisitBucketDTO> buckets) { this.buckets = buckets; }
+}
@@ -2,8 +2,10 @@ package org.example.s29624tpo11;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class S29624Tpo11Application {
 
     public static void main(String[] args) {
@@ -0,0 +1,65 @@
+package org.example.s29624tpo11.configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.s29624tpo11.services.ClusterInvalidation;
+import org.example.s29624tpo11.services.ClusterTransport;
+import org.example.s29624tpo11.services.LoopbackClusterTransport;
+import org.example.s29624tpo11.services.RedirectCache;
+import org.example.s29624tpo11.services.UdpClusterTransport;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Clustered mode ({@code app.cluster.enabled}): link changes are broadcast to the other nodes
+ * over {@code app.cluster.transport} ({@code udp} or the in-JVM {@code loopback}) so their
+ * redirect caches drop the entry too.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.cluster.enabled", havingValue = "true")
+public class ClusterConfig {
+
+    @Bean
+    public ClusterTransport clusterTransport(@Value("${app.cluster.transport:udp}") String transport,
+                                             @Value("${app.cluster.name:links}") String name,
+                                             @Value("${app.cluster.port:7600}") int port,
+                                             @Value("${app.cluster.peers:}") String peers) {
+        return switch (transport) {
+            case "loopback" -> new LoopbackClusterTransport(name);
+            case "udp" -> new UdpClusterTransport(port, parsePeers(peers));
+            default -> throw new IllegalArgumentException("Unknown app.cluster.transport: " + transport);
+        };
+    }
+
+    @Bean
+    public ClusterInvalidation clusterInvalidation(ClusterTransport transport, RedirectCache redirectCache,
+                                                   @Value("${app.cluster.node-id:#{null}}") Integer nodeId,
+                                                   MeterRegistry registry) {
+        // Nodes ignore messages carrying their own id, so a shared default would silence peers.
+        if (nodeId == null) {
+            throw new IllegalStateException("app.cluster.node-id must be set when app.cluster.enabled=true");
+        }
+        return new ClusterInvalidation(transport, redirectCache, nodeId, registry);
+    }
+
+    private static List<InetSocketAddress> parsePeers(String peers) {
+        List<InetSocketAddress> addresses = new ArrayList<>();
+        for (String peer : peers.split(",")) {
+            String trimmed = peer.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            int colon = trimmed.lastIndexOf(':');
+            if (colon <= 0) {
+                throw new IllegalArgumentException("app.cluster.peers entries must be host:port, got " + trimmed);
+            }
+            addresses.add(new InetSocketAddress(trimmed.substring(0, colon), Integer.parseInt(trimmed.substring(colon + 1))));
+        }
+        return addresses;
+    }
+}
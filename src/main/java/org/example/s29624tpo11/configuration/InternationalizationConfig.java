@@ -2,10 +2,13 @@ package org.example.s29624tpo11.configuration;
 
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.MessageSource;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.support.ReloadableResourceBundleMessageSource;
+import org.springframework.context.support.ResourceBundleMessageSource;
 import org.springframework.web.servlet.LocaleResolver;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
@@ -29,7 +32,13 @@ public class InternationalizationConfig implements WebMvcConfigurer, LocaleResol
     }
 
     @Bean
-    public MessageSource messageSource() {
+    public MessageSource messageSource(@Value("${app.messages.reloadable:true}") boolean reloadable) {
+        if (!reloadable) {
+            ResourceBundleMessageSource messageSource = new ResourceBundleMessageSource();
+            messageSource.setBasename("messages");
+            messageSource.setDefaultEncoding("UTF-8");
+            return messageSource;
+        }
         ReloadableResourceBundleMessageSource messageSource = new ReloadableResourceBundleMessageSource();
         messageSource.setBasename("classpath:messages");
         messageSource.setDefaultEncoding("UTF-8");
@@ -45,41 +54,32 @@ public class InternationalizationConfig implements WebMvcConfigurer, LocaleResol
     public Locale resolveLocale(HttpServletRequest request) {
         String langParam = request.getParameter("lang");
         if (langParam != null) {
-            return parseLocale(langParam);
+            return SupportedLocales.fromCode(langParam);
         }
 
         String langHeader = request.getHeader("lang");
         if (langHeader != null) {
-            return parseLocale(langHeader);
-        }
-
-        Locale sessionLocale = (Locale) request.getSession().getAttribute("locale");
-        if (sessionLocale != null) {
-            return sessionLocale;
+            return SupportedLocales.fromCode(langHeader);
         }
 
-        String acceptLanguage = request.getHeader("Accept-Language");
-        if (acceptLanguage != null && !acceptLanguage.isEmpty()) {
-            String langCode = acceptLanguage.split(",")[0].trim().split(";")[0].toLowerCase();
-            if (langCode.startsWith("pl")) return new Locale("pl");
-            if (langCode.startsWith("de")) return new Locale("de");
+        HttpSession session = request.getSession(false);
+        if (session != null) {
+            Locale sessionLocale = (Locale) session.getAttribute("locale");
+            if (sessionLocale != null) {
+                return sessionLocale;
+            }
         }
 
-        return Locale.ENGLISH;
+        Locale accepted = SupportedLocales.fromAcceptLanguage(request.getHeader("Accept-Language"));
+        return accepted != null ? accepted : SupportedLocales.ENGLISH;
     }
 
+    // Only reached through LocaleChangeInterceptor, i.e. when the user picks a language;
+    // this is the one place a session is created for locale purposes.
     @Override
     public void setLocale(HttpServletRequest request, HttpServletResponse response, Locale locale) {
         if (locale != null) {
-            request.getSession().setAttribute("locale", locale);
+            request.getSession().setAttribute("locale", SupportedLocales.fromCode(locale.getLanguage()));
         }
     }
-
-    private Locale parseLocale(String lang) {
-        return switch (lang.toLowerCase()) {
-            case "pl" -> new Locale("pl");
-            case "de" -> new Locale("de");
-            default -> Locale.ENGLISH;
-        };
-    }
-}
\ No newline at end of file
+}
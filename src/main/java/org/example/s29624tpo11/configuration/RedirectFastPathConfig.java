@@ -0,0 +1,24 @@
+package org.example.s29624tpo11.configuration;
+
+import org.example.s29624tpo11.controllers.RedirectFilter;
+import org.example.s29624tpo11.controllers.RedirectResponder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+@ConditionalOnProperty(name = "app.redirect.fast-path", havingValue = "true", matchIfMissing = true)
+public class RedirectFastPathConfig {
+
+    @Bean
+    public FilterRegistrationBean<RedirectFilter> redirectFilter(RedirectResponder redirectResponder) {
+        FilterRegistrationBean<RedirectFilter> registration = new FilterRegistrationBean<>(
+                new RedirectFilter(redirectResponder));
+        registration.addUrlPatterns("/red/*");
+        // After the observation filter, so redirects still show up in http.server.requests.
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
@@ -0,0 +1,130 @@
+package org.example.s29624tpo11.configuration;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Read-only side of the replica routing: hands out connections from the replica pools in
+ * round-robin order, skipping replicas whose replication lag exceeds {@code app.replicas.max-staleness}
+ * or that failed their last check, and falls back to the primary when none qualifies.
+ * <p>
+ * Lag is measured with a heartbeat: every check writes the current time to {@code replica_heartbeat}
+ * on the primary and reads it back from each replica.
+ */
+public class ReplicaDataSource extends AbstractDataSource implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaDataSource.class);
+    private static final String READ_SQL = "SELECT beat_at FROM replica_heartbeat WHERE id = 1";
+
+    private static final class Replica {
+        final HikariDataSource dataSource;
+        final JdbcTemplate jdbcTemplate;
+        volatile boolean usable;
+        volatile long lagMillis = -1;
+
+        Replica(HikariDataSource dataSource) {
+            this.dataSource = dataSource;
+            this.jdbcTemplate = new JdbcTemplate(dataSource);
+        }
+    }
+
+    private final DataSource primary;
+    private final JdbcTemplate primaryJdbc;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final AtomicInteger next = new AtomicInteger();
+    private final long maxStalenessMillis;
+
+    public ReplicaDataSource(DataSource primary, List<HikariDataSource> replicaPools,
+                             Duration maxStaleness, MeterRegistry registry) {
+        this.primary = primary;
+        this.primaryJdbc = new JdbcTemplate(primary);
+        this.maxStalenessMillis = maxStaleness.toMillis();
+        for (int i = 0; i < replicaPools.size(); i++) {
+            Replica replica = new Replica(replicaPools.get(i));
+            replicas.add(replica);
+            Gauge.builder("links.replica.lag", replica, r -> r.lagMillis)
+                    .tag("replica", String.valueOf(i))
+                    .baseUnit("milliseconds")
+                    .register(registry);
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.usable) {
+                try {
+                    return replica.dataSource.getConnection();
+                } catch (SQLException e) {
+                    replica.usable = false;
+                    log.warn("Replica {} unavailable, routing reads elsewhere until the next check",
+                            replica.dataSource.getJdbcUrl(), e);
+                }
+            }
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return getConnection();
+    }
+
+    @Scheduled(fixedDelayString = "${app.replicas.check-interval:1000}",
+            initialDelayString = "${app.replicas.check-interval:1000}")
+    public void check() {
+        long now = System.currentTimeMillis();
+        try {
+            if (primaryJdbc.update("UPDATE replica_heartbeat SET beat_at = ? WHERE id = 1", now) == 0) {
+                primaryJdbc.update("INSERT INTO replica_heartbeat (id, beat_at) VALUES (1, ?)", now);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not write replica heartbeat", e);
+        }
+
+        for (Replica replica : replicas) {
+            try {
+                Long beatAt = replica.jdbcTemplate.query(READ_SQL, rs -> rs.next() ? rs.getLong(1) : null);
+                replica.lagMillis = beatAt == null ? -1 : Math.max(0, System.currentTimeMillis() - beatAt);
+                replica.usable = beatAt != null && replica.lagMillis <= maxStalenessMillis;
+            } catch (RuntimeException e) {
+                replica.lagMillis = -1;
+                replica.usable = false;
+            }
+        }
+    }
+
+    public boolean hasUsableReplica() {
+        for (Replica replica : replicas) {
+            if (replica.usable) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void destroy() {
+        for (Replica replica : replicas) {
+            replica.dataSource.close();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package org.example.s29624tpo11.configuration;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.ResourceHttpRequestHandler;
+
+import java.time.Duration;
+import java.util.regex.Pattern;
+
+/**
+ * Long-lived caching for static assets requested by their content-hashed URL
+ * ({@code /styles-<md5>.css}), which changes whenever the file does. The same file requested under
+ * its plain name ({@code /styles.css}) is revalidated on every use instead, so a deploy is picked
+ * up immediately.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.static.versioned-max-age")
+public class StaticCacheConfig implements WebMvcConfigurer {
+
+    // The version the content strategy of the resource chain inserts before the extension.
+    private static final Pattern VERSIONED = Pattern.compile("-[0-9a-f]{32}\\.[^/]+$");
+
+    private final String versioned;
+    private final String unversioned = CacheControl.noCache().getHeaderValue();
+
+    @Autowired
+    public StaticCacheConfig(@Value("${app.static.versioned-max-age}") Duration maxAge) {
+        this.versioned = CacheControl.maxAge(maxAge).cachePublic().immutable().getHeaderValue();
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                if (handler instanceof ResourceHttpRequestHandler) {
+                    boolean hashed = VERSIONED.matcher(request.getRequestURI()).find();
+                    response.setHeader(HttpHeaders.CACHE_CONTROL, hashed ? versioned : unversioned);
+                }
+                return true;
+            }
+        });
+    }
+}
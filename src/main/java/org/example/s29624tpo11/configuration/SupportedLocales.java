@@ -0,0 +1,55 @@
+package org.example.s29624tpo11.configuration;
+
+import java.util.Locale;
+
+/**
+ * The languages the UI and API messages are translated into. Lookups compare characters in place
+ * and return the shared constants, so resolving a locale allocates nothing.
+ */
+public final class SupportedLocales {
+
+    public static final Locale ENGLISH = Locale.ENGLISH;
+    public static final Locale POLISH = Locale.of("pl");
+    public static final Locale GERMAN = Locale.of("de");
+
+    private SupportedLocales() {}
+
+    /**
+     * Maps an explicit language code ({@code lang} parameter or header) to a supported locale,
+     * falling back to English.
+     */
+    public static Locale fromCode(String code) {
+        if (code == null || code.length() != 2) {
+            return ENGLISH;
+        }
+        return match(code, 0, ENGLISH);
+    }
+
+    /**
+     * Picks the locale for the first language range of an {@code Accept-Language} header, or
+     * {@code null} when the header is absent or the language is not supported.
+     */
+    public static Locale fromAcceptLanguage(String header) {
+        if (header == null) {
+            return null;
+        }
+        int i = 0;
+        while (i < header.length() && header.charAt(i) == ' ') {
+            i++;
+        }
+        if (header.length() - i < 2) {
+            return null;
+        }
+        return match(header, i, null);
+    }
+
+    private static Locale match(String value, int offset, Locale fallback) {
+        if (value.regionMatches(true, offset, "pl", 0, 2)) {
+            return POLISH;
+        }
+        if (value.regionMatches(true, offset, "de", 0, 2)) {
+            return GERMAN;
+        }
+        return fallback;
+    }
+}
@@ -0,0 +1,35 @@
+package org.example.s29624tpo11.controllers;
+
+import org.example.s29624tpo11.exceptions.AdminAccessDeniedException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Guards the admin-only endpoints (export, import) with the {@code X-Admin-Token} header. They are
+ * disabled until {@code app.admin.token} is set.
+ */
+@Component
+public class AdminAccess {
+
+    public static final String HEADER = "X-Admin-Token";
+
+    private final byte[] token;
+
+    @Autowired
+    public AdminAccess(@Value("${app.admin.token:}") String token) {
+        this.token = token.getBytes(StandardCharsets.UTF_8);
+    }
+
+    public void check(String presented) {
+        if (token.length == 0) {
+            throw new AdminAccessDeniedException("Admin endpoints are disabled");
+        }
+        if (presented == null || !MessageDigest.isEqual(token, presented.getBytes(StandardCharsets.UTF_8))) {
+            throw new AdminAccessDeniedException("Admin token required");
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package org.example.s29624tpo11.controllers;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.s29624tpo11.configuration.SupportedLocales;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.MessageSource;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * {@code {"error": "..."}} bodies for every API error, rendered once per supported locale at
+ * startup and served as ready-made bytes.
+ */
+@Component
+public class ErrorResponses {
+
+    public enum ErrorCode {
+        LINK_NOT_FOUND("error.link.not.found", HttpStatus.NOT_FOUND),
+        WRONG_PASSWORD("error.wrong.password", HttpStatus.FORBIDDEN),
+        DUPLICATE_NAME("error.duplicate.name", HttpStatus.CONFLICT),
+        BATCH_TOO_LARGE("error.batch.too.large", HttpStatus.PAYLOAD_TOO_LARGE),
+        BATCH_MALFORMED("error.batch.malformed", HttpStatus.BAD_REQUEST),
+        INVALID_CURSOR("error.invalid.cursor", HttpStatus.BAD_REQUEST),
+        ADMIN_ACCESS_DENIED("error.admin.access.denied", HttpStatus.FORBIDDEN),
+        PLAINTEXT_PASSWORDS("error.plaintext.passwords", HttpStatus.CONFLICT),
+        CONCURRENT_UPDATE("error.concurrent.update", HttpStatus.CONFLICT);
+
+        private final String messageKey;
+        private final HttpStatus status;
+
+        ErrorCode(String messageKey, HttpStatus status) {
+            this.messageKey = messageKey;
+            this.status = status;
+        }
+    }
+
+    private static final List<Locale> LOCALES =
+            List.of(SupportedLocales.ENGLISH, SupportedLocales.POLISH, SupportedLocales.GERMAN);
+
+    private final Map<ErrorCode, Map<Locale, byte[]>> bodies = new EnumMap<>(ErrorCode.class);
+
+    @Autowired
+    public ErrorResponses(MessageSource messageSource, ObjectMapper objectMapper) throws JsonProcessingException {
+        for (ErrorCode code : ErrorCode.values()) {
+            Map<Locale, byte[]> byLocale = new HashMap<>();
+            for (Locale locale : LOCALES) {
+                String message = messageSource.getMessage(code.messageKey, null, locale);
+                byLocale.put(locale, objectMapper.writeValueAsBytes(Map.of("error", message)));
+            }
+            bodies.put(code, byLocale);
+        }
+    }
+
+    public ResponseEntity<byte[]> of(ErrorCode code, Locale locale) {
+        byte[] body = bodies.get(code).get(locale);
+        if (body == null) {
+            body = bodies.get(code).get(SupportedLocales.ENGLISH);
+        }
+        return ResponseEntity.status(code.status).contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+}
@@ -1,135 +1,194 @@
 package org.example.s29624tpo11.controllers;
 
 import jakarta.validation.Valid;
+import org.example.s29624tpo11.DTOs.BatchResponseDTO;
+import org.example.s29624tpo11.DTOs.ClickBucketDTO;
 import org.example.s29624tpo11.DTOs.CreateLinkDTO;
+import org.example.s29624tpo11.DTOs.ImportResultDTO;
+import org.example.s29624tpo11.DTOs.LinkPageDTO;
+import org.example.s29624tpo11.DTOs.LinkSearchPageDTO;
 import org.example.s29624tpo11.DTOs.ResponseDTO;
 import org.example.s29624tpo11.DTOs.UpdateLinkDTO;
-import org.example.s29624tpo11.exceptions.LinkNotFoundException;
-import org.example.s29624tpo11.exceptions.WrongPasswordException;
-import org.example.s29624tpo11.exceptions.DuplicateNameException;
+import org.example.s29624tpo11.DTOs.VisitSeriesDTO;
+import org.example.s29624tpo11.configuration.SupportedLocales;
+import org.example.s29624tpo11.services.BulkLinkService;
+import org.example.s29624tpo11.services.ClickStatsService;
+import org.example.s29624tpo11.services.LinkCursor;
 import org.example.s29624tpo11.services.LinkService;
+import org.example.s29624tpo11.services.LinkTransferService;
+import org.example.s29624tpo11.services.TimeBucket;
+import org.example.s29624tpo11.services.VisitRollups;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.context.MessageSource;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.validation.FieldError;
-import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
-import java.util.HashMap;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
 import java.util.Locale;
-import java.util.Map;
 
 @RestController
 public class LinkController {
 
     private final LinkService linkService;
-    private final MessageSource messageSource;
+    private final BulkLinkService bulkLinkService;
+    private final LinkTransferService linkTransferService;
+    private final ClickStatsService clickStatsService;
+    private final VisitRollups visitRollups;
+    private final AdminAccess adminAccess;
 
     @Autowired
-    public LinkController(LinkService linkService, MessageSource messageSource) {
+    public LinkController(LinkService linkService, BulkLinkService bulkLinkService,
+                          LinkTransferService linkTransferService, ClickStatsService clickStatsService,
+                          VisitRollups visitRollups, AdminAccess adminAccess) {
         this.linkService = linkService;
-        this.messageSource = messageSource;
+        this.bulkLinkService = bulkLinkService;
+        this.linkTransferService = linkTransferService;
+        this.clickStatsService = clickStatsService;
+        this.visitRollups = visitRollups;
+        this.adminAccess = adminAccess;
     }
 
-    private Locale getLocaleFromHeader(String langHeader) {
-        if (langHeader == null) return Locale.ENGLISH;
+    @PostMapping("/api/links")
+    public ResponseEntity<Object> createLink(@Valid @RequestBody CreateLinkDTO request) {
+        ResponseDTO response = linkService.createLink(request);
+        URI location = ServletUriComponentsBuilder.fromCurrentRequest().path("/{id}").buildAndExpand(response.getId()).toUri();
+        return ResponseEntity.created(location).body(response);
+    }
 
-        return switch (langHeader.toLowerCase()) {
-            case "pl" -> new Locale("pl");
-            case "de" -> new Locale("de");
-            default -> Locale.ENGLISH;
-        };
+    // JSON array or NDJSON; both are read item by item so oversized batches stop early.
+    @PostMapping(value = "/api/links/batch",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<Object> createLinks(
+            InputStream body,
+            @RequestParam(defaultValue = "false") boolean partial,
+            @RequestHeader(value = "lang", required = false) String langHeader) throws IOException {
+
+        Locale locale = SupportedLocales.fromCode(langHeader);
+        BatchResponseDTO response = bulkLinkService.createLinks(bulkLinkService.readBatch(body), partial, locale);
+        HttpStatus status = response.getFailed() == 0 ? HttpStatus.CREATED
+                : partial ? HttpStatus.MULTI_STATUS : HttpStatus.UNPROCESSABLE_ENTITY;
+        return ResponseEntity.status(status).body(response);
     }
 
-    @PostMapping("/api/links")
-    public ResponseEntity<Object> createLink(
-            @Valid @RequestBody CreateLinkDTO request,
-            @RequestHeader(value = "lang", required = false) String langHeader) {
+    @GetMapping(value = "/api/links/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportLinks(
+            @RequestHeader(value = AdminAccess.HEADER, required = false) String adminToken) {
+        adminAccess.check(adminToken);
+        linkTransferService.prepareExport();
+        StreamingResponseBody body = linkTransferService::exportTo;
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
 
-        try {
-            ResponseDTO response = linkService.createLink(request);
-            URI location = ServletUriComponentsBuilder.fromCurrentRequest().path("/{id}").buildAndExpand(response.getId()).toUri();
-            return ResponseEntity.created(location).body(response);
-        } catch (DuplicateNameException e) {
-            Locale locale = getLocaleFromHeader(langHeader);
-            Map<String, String> errorResponse = new HashMap<>();
-            errorResponse.put("error", messageSource.getMessage("error.duplicate.name", null, locale));
-            return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+    @PostMapping(value = "/api/links/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<Object> importLinks(
+            @RequestHeader(value = AdminAccess.HEADER, required = false) String adminToken,
+            InputStream body) throws IOException {
+        adminAccess.check(adminToken);
+        ImportResultDTO result = linkTransferService.importFrom(body);
+        return ResponseEntity.ok(result);
+    }
+
+    @GetMapping("/api/links")
+    public ResponseEntity<Object> listLinks(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(defaultValue = "id") String sort) {
+
+        LinkCursor.LinkSort order;
+        switch (sort.toLowerCase()) {
+            case "id" -> order = LinkCursor.LinkSort.ID;
+            case "visits" -> order = LinkCursor.LinkSort.VISITS;
+            default -> {
+                return ResponseEntity.badRequest().build();
+            }
         }
+
+        LinkPageDTO page = linkService.listLinks(after, limit, order);
+        return ResponseEntity.ok(page);
+    }
+
+    @GetMapping("/api/links/search")
+    public ResponseEntity<Object> searchLinks(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        if (prefix.isBlank()) {
+            return ResponseEntity.badRequest().build();
+        }
+        LinkSearchPageDTO result = linkService.searchByPrefix(prefix, page, size);
+        return ResponseEntity.ok(result);
     }
 
     @GetMapping("/api/links/{id}")
-    public ResponseEntity<Object> getLink(
+    public ResponseEntity<Object> getLink(@PathVariable String id) {
+        ResponseDTO response = linkService.getLinkById(id);
+        // A matching If-None-Match turns this into a 304 before the body is serialized.
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).eTag(response.getETag()).body(response);
+    }
+
+    @GetMapping("/api/links/{id}/clicks")
+    public ResponseEntity<Object> getClicks(
             @PathVariable String id,
-            @RequestHeader(value = "lang", required = false) String langHeader) {
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @RequestParam(defaultValue = "hour") String bucket) {
+
+        Instant end = to != null ? to : Instant.now();
+        Instant start = from != null ? from : end.minus(Duration.ofDays(1));
+        List<ClickBucketDTO> clicks;
         try {
-            ResponseDTO response = linkService.getLinkById(id);
-            return ResponseEntity.ok(response);
-        } catch (LinkNotFoundException e) {
-            Locale locale = getLocaleFromHeader(langHeader);
-            Map<String, String> errorResponse = new HashMap<>();
-            errorResponse.put("error", messageSource.getMessage("error.link.not.found", null, locale));
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
+            // An unknown bucket or a range of more than app.rollups.max-buckets buckets.
+            clicks = clickStatsService.clicks(id, start, end, TimeBucket.parse(bucket));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
         }
+        return ResponseEntity.ok(clicks);
+    }
+
+    @GetMapping("/api/links/{id}/visits")
+    public ResponseEntity<Object> getVisits(
+            @PathVariable String id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @RequestParam(required = false) String bucket) {
+
+        TimeBucket resolution = null;
+        if (bucket != null) {
+            try {
+                resolution = TimeBucket.parse(bucket);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().build();
+            }
+        }
+        Instant end = to != null ? to : Instant.now();
+        Instant start = from != null ? from : end.minus(Duration.ofDays(1));
+        VisitSeriesDTO series = visitRollups.series(id, start, end, resolution);
+        return ResponseEntity.ok(series);
     }
 
     @PatchMapping("/api/links/{id}")
     public ResponseEntity<Object> updateLink(
             @PathVariable String id,
-            @Valid @RequestBody UpdateLinkDTO request,
-            @RequestHeader(value = "lang", required = false) String langHeader) {
-        try {
-            linkService.updateLink(id, request);
-            return ResponseEntity.noContent().build();
-        } catch (LinkNotFoundException e) {
-            Locale locale = getLocaleFromHeader(langHeader);
-            Map<String, String> errorResponse = new HashMap<>();
-            errorResponse.put("error", messageSource.getMessage("error.link.not.found", null, locale));
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
-        } catch (WrongPasswordException e) {
-            Locale locale = getLocaleFromHeader(langHeader);
-            Map<String, String> errorResponse = new HashMap<>();
-            errorResponse.put("error", messageSource.getMessage("error.wrong.password", null, locale));
-            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(errorResponse);
-        }
+            @Valid @RequestBody UpdateLinkDTO request) {
+        linkService.updateLink(id, request);
+        return ResponseEntity.noContent().build();
     }
 
     @DeleteMapping("/api/links/{id}")
     public ResponseEntity<Object> deleteLink(
             @PathVariable String id,
-            @RequestHeader(value = "pass", required = false) String password,
-            @RequestHeader(value = "lang", required = false) String langHeader) {
-        try {
-            linkService.deleteLink(id, password);
-            return ResponseEntity.noContent().build();
-        } catch (WrongPasswordException e) {
-            Locale locale = getLocaleFromHeader(langHeader);
-            Map<String, String> errorResponse = new HashMap<>();
-            errorResponse.put("error", messageSource.getMessage("error.wrong.password", null, locale));
-            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(errorResponse);
-        }
-    }
-
-    @ResponseStatus(HttpStatus.BAD_REQUEST)
-    @ExceptionHandler(MethodArgumentNotValidException.class)
-    public Map<String, Object> handleValidationExceptions(
-            MethodArgumentNotValidException ex,
-            @RequestHeader(value = "lang", required = false) String langHeader) {
-
-        Locale locale = getLocaleFromHeader(langHeader);
-        Map<String, Object> response = new HashMap<>();
-        Map<String, String> errors = new HashMap<>();
-
-        for (FieldError error : ex.getBindingResult().getFieldErrors()) {
-            String localizedMessage = messageSource.getMessage(error.getDefaultMessage(), null, error.getDefaultMessage(), locale);
-            errors.put(error.getField(), localizedMessage);
-        }
-
-        response.put("message", messageSource.getMessage("error.validation", null, locale));
-        response.put("errors", errors);
-        return response;
+            @RequestHeader(value = "pass", required = false) String password) {
+        linkService.deleteLink(id, password);
+        return ResponseEntity.noContent().build();
     }
 }
\ No newline at end of file
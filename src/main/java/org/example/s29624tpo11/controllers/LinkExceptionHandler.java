@@ -0,0 +1,107 @@
+package org.example.s29624tpo11.controllers;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import jakarta.servlet.http.HttpServletRequest;
+import org.example.s29624tpo11.configuration.SupportedLocales;
+import org.example.s29624tpo11.controllers.ErrorResponses.ErrorCode;
+import org.example.s29624tpo11.exceptions.AdminAccessDeniedException;
+import org.example.s29624tpo11.exceptions.BatchTooLargeException;
+import org.example.s29624tpo11.exceptions.DuplicateNameException;
+import org.example.s29624tpo11.exceptions.InvalidCursorException;
+import org.example.s29624tpo11.exceptions.LinkNotFoundException;
+import org.example.s29624tpo11.exceptions.PlaintextPasswordsException;
+import org.example.s29624tpo11.exceptions.WrongPasswordException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.MessageSource;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+@RestControllerAdvice(assignableTypes = LinkController.class)
+public class LinkExceptionHandler {
+
+    private final ErrorResponses errorResponses;
+    private final MessageSource messageSource;
+
+    @Autowired
+    public LinkExceptionHandler(ErrorResponses errorResponses, MessageSource messageSource) {
+        this.errorResponses = errorResponses;
+        this.messageSource = messageSource;
+    }
+
+    @ExceptionHandler(LinkNotFoundException.class)
+    public ResponseEntity<byte[]> handleNotFound(HttpServletRequest request) {
+        return errorResponses.of(ErrorCode.LINK_NOT_FOUND, locale(request));
+    }
+
+    @ExceptionHandler(WrongPasswordException.class)
+    public ResponseEntity<byte[]> handleWrongPassword(HttpServletRequest request) {
+        return errorResponses.of(ErrorCode.WRONG_PASSWORD, locale(request));
+    }
+
+    @ExceptionHandler(DuplicateNameException.class)
+    public ResponseEntity<byte[]> handleDuplicateName(HttpServletRequest request) {
+        return errorResponses.of(ErrorCode.DUPLICATE_NAME, locale(request));
+    }
+
+    @ExceptionHandler(BatchTooLargeException.class)
+    public ResponseEntity<byte[]> handleBatchTooLarge(HttpServletRequest request) {
+        return errorResponses.of(ErrorCode.BATCH_TOO_LARGE, locale(request));
+    }
+
+    @ExceptionHandler(JsonProcessingException.class)
+    public ResponseEntity<byte[]> handleMalformedBatch(HttpServletRequest request) {
+        return errorResponses.of(ErrorCode.BATCH_MALFORMED, locale(request));
+    }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<byte[]> handleInvalidCursor(HttpServletRequest request) {
+        return errorResponses.of(ErrorCode.INVALID_CURSOR, locale(request));
+    }
+
+    @ExceptionHandler(AdminAccessDeniedException.class)
+    public ResponseEntity<byte[]> handleAdminAccessDenied(HttpServletRequest request) {
+        return errorResponses.of(ErrorCode.ADMIN_ACCESS_DENIED, locale(request));
+    }
+
+    @ExceptionHandler(PlaintextPasswordsException.class)
+    public ResponseEntity<byte[]> handlePlaintextPasswords(HttpServletRequest request) {
+        return errorResponses.of(ErrorCode.PLAINTEXT_PASSWORDS, locale(request));
+    }
+
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<byte[]> handleConcurrentUpdate(HttpServletRequest request) {
+        return errorResponses.of(ErrorCode.CONCURRENT_UPDATE, locale(request));
+    }
+
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ExceptionHandler(MethodArgumentNotValidException.class)
+    public Map<String, Object> handleValidationExceptions(MethodArgumentNotValidException ex,
+                                                          HttpServletRequest request) {
+        Locale locale = locale(request);
+        Map<String, Object> response = new HashMap<>();
+        Map<String, String> errors = new HashMap<>();
+
+        for (FieldError error : ex.getBindingResult().getFieldErrors()) {
+            String localizedMessage = messageSource.getMessage(error.getDefaultMessage(), null, error.getDefaultMessage(), locale);
+            errors.put(error.getField(), localizedMessage);
+        }
+
+        response.put("message", messageSource.getMessage("error.validation", null, locale));
+        response.put("errors", errors);
+        return response;
+    }
+
+    private static Locale locale(HttpServletRequest request) {
+        return SupportedLocales.fromCode(request.getHeader("lang"));
+    }
+}
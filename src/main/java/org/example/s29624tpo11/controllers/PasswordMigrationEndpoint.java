@@ -0,0 +1,25 @@
+package org.example.s29624tpo11.controllers;
+
+import org.example.s29624tpo11.DTOs.PasswordMigrationResultDTO;
+import org.example.s29624tpo11.services.PasswordMigration;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+@Component
+@Endpoint(id = "passwordmigration")
+public class PasswordMigrationEndpoint {
+
+    private final PasswordMigration passwordMigration;
+
+    @Autowired
+    public PasswordMigrationEndpoint(PasswordMigration passwordMigration) {
+        this.passwordMigration = passwordMigration;
+    }
+
+    @WriteOperation
+    public PasswordMigrationResultDTO migrate() {
+        return passwordMigration.migrate();
+    }
+}
@@ -1,32 +1,28 @@
 package org.example.s29624tpo11.controllers;
 
-import org.example.s29624tpo11.exceptions.LinkNotFoundException;
-import org.example.s29624tpo11.services.LinkService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.net.URI;
-
+/**
+ * {@code GET /red/{id}} through the {@code DispatcherServlet}, for requests {@link RedirectFilter}
+ * passes on or when the fast path is disabled. The response itself comes from
+ * {@link RedirectResponder}, so both paths answer alike.
+ */
 @RestController
 public class RedirectController {
-    private final LinkService linkService;
+    private final RedirectResponder redirectResponder;
 
     @Autowired
-    public RedirectController(LinkService linkService) {
-        this.linkService = linkService;
+    public RedirectController(RedirectResponder redirectResponder) {
+        this.redirectResponder = redirectResponder;
     }
 
     @GetMapping("/red/{id}")
-    public ResponseEntity<Void> redirect(@PathVariable String id) {
-        try {
-            String targetUrl = linkService.redirectAndIncrement(id);
-            return ResponseEntity.status(HttpStatus.FOUND).location(URI.create(targetUrl)).build();
-        } catch (LinkNotFoundException e) {
-            return ResponseEntity.notFound().build();
-        }
+    public void redirect(@PathVariable String id, HttpServletRequest request, HttpServletResponse response) {
+        redirectResponder.redirect(id, request, response);
     }
 }
@@ -0,0 +1,45 @@
+package org.example.s29624tpo11.controllers;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpFilter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.ServerHttpObservationFilter;
+
+import java.io.IOException;
+
+/**
+ * Serves {@code GET /red/{id}} straight from the filter chain, before the {@code DispatcherServlet}:
+ * no handler mapping, interceptors, locale resolution or session, and the target URL is written to
+ * the {@code Location} header as stored. Anything that is not a plain single-segment GET or HEAD
+ * falls through to {@link RedirectController}; both write the response with {@link RedirectResponder}.
+ */
+public class RedirectFilter extends HttpFilter {
+
+    private static final String PREFIX = "/red/";
+
+    private final RedirectResponder redirectResponder;
+
+    public RedirectFilter(RedirectResponder redirectResponder) {
+        this.redirectResponder = redirectResponder;
+    }
+
+    @Override
+    protected void doFilter(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        String method = request.getMethod();
+        String uri = request.getRequestURI();
+        int start = request.getContextPath().length() + PREFIX.length();
+        if (!("GET".equals(method) || "HEAD".equals(method))
+                || uri.length() <= start || uri.indexOf('/', start) >= 0 || uri.indexOf(';', start) >= 0) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        String id = uri.substring(start);
+        ServerHttpObservationFilter.findObservationContext(request)
+                .ifPresent(context -> context.setPathPattern("/red/{id}"));
+        redirectResponder.redirect(id, request, response);
+    }
+}
@@ -0,0 +1,63 @@
+package org.example.s29624tpo11.controllers;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.example.s29624tpo11.exceptions.LinkExpiredException;
+import org.example.s29624tpo11.exceptions.LinkNotFoundException;
+import org.example.s29624tpo11.services.ClickEvent;
+import org.example.s29624tpo11.services.ClickEventPipeline;
+import org.example.s29624tpo11.services.LinkService;
+import org.example.s29624tpo11.services.RedirectTarget;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Writes the response for {@code GET /red/{id}}, for both {@link RedirectFilter} and
+ * {@link RedirectController}: permanent links answer 301 with a {@code max-age}, everything else
+ * 302 with {@code no-store}; expired links 410 and unknown ids 404, all with an empty body. The
+ * target URL goes to the {@code Location} header as stored.
+ */
+@Component
+public class RedirectResponder {
+
+    private final LinkService linkService;
+    private final ClickEventPipeline clickEvents;
+
+    @Value("${app.clicks.country-header:CF-IPCountry}")
+    private String countryHeader;
+
+    @Value("${app.redirect.default-max-age:1d}")
+    private Duration defaultMaxAge;
+
+    @Autowired
+    public RedirectResponder(LinkService linkService, ClickEventPipeline clickEvents) {
+        this.linkService = linkService;
+        this.clickEvents = clickEvents;
+    }
+
+    public void redirect(String id, HttpServletRequest request, HttpServletResponse response) {
+        try {
+            RedirectTarget target = linkService.resolveRedirect(id);
+            long now = System.currentTimeMillis();
+            clickEvents.publish(new ClickEvent(id, now,
+                    request.getHeader("Referer"), request.getHeader("User-Agent"), request.getHeader(countryHeader)));
+            long maxAge = target.cacheSeconds(now, defaultMaxAge.toSeconds());
+            if (maxAge > 0) {
+                response.setStatus(HttpServletResponse.SC_MOVED_PERMANENTLY);
+                response.setHeader("Cache-Control", "public, max-age=" + maxAge);
+            } else {
+                response.setStatus(HttpServletResponse.SC_FOUND);
+                response.setHeader("Cache-Control", "no-store");
+            }
+            response.setHeader("Location", target.targetUrl());
+        } catch (LinkExpiredException e) {
+            response.setStatus(HttpServletResponse.SC_GONE);
+        } catch (LinkNotFoundException e) {
+            response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+        }
+        response.setContentLength(0);
+    }
+}
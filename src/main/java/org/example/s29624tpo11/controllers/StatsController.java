@@ -0,0 +1,41 @@
+package org.example.s29624tpo11.controllers;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.example.s29624tpo11.services.LinkFilters;
+import org.example.s29624tpo11.services.RedirectCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestController
+public class StatsController {
+
+    private final RedirectCache redirectCache;
+    private final LinkFilters linkFilters;
+
+    @Autowired
+    public StatsController(RedirectCache redirectCache, LinkFilters linkFilters) {
+        this.redirectCache = redirectCache;
+        this.linkFilters = linkFilters;
+    }
+
+    @GetMapping("/api/stats/redirect-cache")
+    public Map<String, Object> redirectCacheStats() {
+        CacheStats stats = redirectCache.stats();
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("size", redirectCache.size());
+        response.put("hits", stats.hitCount());
+        response.put("misses", stats.missCount());
+        response.put("evictions", stats.evictionCount());
+        response.put("hitRate", stats.hitRate());
+        return response;
+    }
+
+    @GetMapping("/api/stats/bloom")
+    public Map<String, Object> bloomStats() {
+        return linkFilters.stats();
+    }
+}
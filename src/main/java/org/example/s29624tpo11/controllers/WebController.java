@@ -75,8 +75,14 @@ public class WebController {
     }
 
     @GetMapping("/search")
-    public String searchForm(Model model) {
+    public String searchForm(@RequestParam(required = false) String q,
+                             @RequestParam(defaultValue = "0") int page,
+                             Model model) {
         model.addAttribute("searchRequest", new SearchLinkDTO());
+        if (q != null && !q.isBlank()) {
+            model.addAttribute("q", q);
+            model.addAttribute("results", linkService.searchByPrefix(q, page, 20));
+        }
         return "search";
     }
 
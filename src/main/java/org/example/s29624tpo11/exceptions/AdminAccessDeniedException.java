@@ -0,0 +1,7 @@
+package org.example.s29624tpo11.exceptions;
+
+public class AdminAccessDeniedException extends RuntimeException {
+    public AdminAccessDeniedException(String message) {
+        super(message);
+    }
+}
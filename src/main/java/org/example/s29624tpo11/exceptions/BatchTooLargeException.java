@@ -0,0 +1,7 @@
+package org.example.s29624tpo11.exceptions;
+
+public class BatchTooLargeException extends RuntimeException {
+    public BatchTooLargeException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package org.example.s29624tpo11.exceptions;
+
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package org.example.s29624tpo11.exceptions;
+
+public class LinkExpiredException extends RuntimeException {
+    public LinkExpiredException(String message) {
+        super(message);
+    }
+}
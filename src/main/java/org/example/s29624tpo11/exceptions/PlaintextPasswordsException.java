@@ -0,0 +1,7 @@
+package org.example.s29624tpo11.exceptions;
+
+public class PlaintextPasswordsException extends RuntimeException {
+    public PlaintextPasswordsException(String message) {
+        super(message);
+    }
+}
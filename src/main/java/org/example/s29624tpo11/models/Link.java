@@ -5,12 +5,23 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+import org.springframework.data.domain.Persistable;
+
+import java.time.Instant;
+import java.util.Locale;
 
 @Entity
 @Table(name = "links", uniqueConstraints = {
-        @UniqueConstraint(columnNames = "name")
+        @UniqueConstraint(name = "uk_links_name", columnNames = "name")
+}, indexes = {
+        @Index(name = "idx_links_name_key", columnList = "name_key, id"),
+        @Index(name = "idx_links_visits", columnList = "visits DESC, id"),
+        @Index(name = "idx_links_expires_at", columnList = "expires_at")
 })
-public class Link {
+public class Link implements Persistable<String> {
 
     @Id
     @Column(length = 10)
@@ -18,9 +29,12 @@ public class Link {
 
     @NotBlank
     @Size(max = 200)
-    @Column(name = "name", nullable = false, unique = true)
+    @Column(name = "name", nullable = false)
     private String name;
 
+    @Column(name = "name_key", nullable = false)
+    private String nameKey;
+
     @NotNull
     @Pattern(regexp = "^https?://.*", message = "URL must start with http:// or https://")
     @Column(name = "target_url", nullable = false)
@@ -29,9 +43,32 @@ public class Link {
     @Column(name = "password")
     private String password;
 
-    @Column(name = "visits", nullable = false)
+    // Only ever changed by targeted UPDATEs; saving a detached copy must not write back a stale count.
+    @Column(name = "visits", nullable = false, updatable = false)
     private Long visits = 0L;
 
+    @Column(name = "expires_at")
+    private Instant expiresAt;
+
+    @Column(name = "max_visits")
+    private Long maxVisits;
+
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(name = "redirect_type", length = 16)
+    private RedirectType redirectType;
+
+    @Column(name = "max_age")
+    private Long maxAge;
+
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private long version;
+
+    @Transient
+    private boolean isNew = true;
+
     public Link() {}
 
     public Link(String id, String name, String targetUrl, String password) {
@@ -47,6 +84,8 @@ public class Link {
     public String getName() { return name; }
     public void setName(String name) { this.name = name; }
 
+    public String getNameKey() { return nameKey; }
+
     public String getTargetUrl() { return targetUrl; }
     public void setTargetUrl(String targetUrl) { this.targetUrl = targetUrl; }
 
@@ -56,11 +95,42 @@ public class Link {
     public Long getVisits() { return visits; }
     public void setVisits(Long visits) { this.visits = visits; }
 
+    public Instant getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(Instant expiresAt) { this.expiresAt = expiresAt; }
+
+    public Long getMaxVisits() { return maxVisits; }
+    public void setMaxVisits(Long maxVisits) { this.maxVisits = maxVisits; }
+
+    public RedirectType getRedirectType() { return redirectType == null ? RedirectType.TEMPORARY : redirectType; }
+    public void setRedirectType(RedirectType redirectType) { this.redirectType = redirectType; }
+
+    public Long getMaxAge() { return maxAge; }
+    public void setMaxAge(Long maxAge) { this.maxAge = maxAge; }
+
+    public long getVersion() { return version; }
+
     public boolean hasPassword() {
         return password != null && !password.isEmpty();
     }
 
-    public void incrementVisits() {
-        this.visits++;
+    public static String nameKey(String name) {
+        return name == null ? null : name.toLowerCase(Locale.ROOT);
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PrePersist
+    @PreUpdate
+    void normalizeName() {
+        this.nameKey = nameKey(name);
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
     }
 }
\ No newline at end of file
@@ -0,0 +1,44 @@
+package org.example.s29624tpo11.models;
+
+import jakarta.persistence.*;
+
+@Entity
+@Table(name = "link_clicks", indexes = {
+        @Index(name = "idx_link_clicks_link_time", columnList = "link_id, clicked_at"),
+        @Index(name = "idx_link_clicks_clicked_at", columnList = "clicked_at")
+})
+public class LinkClick {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "link_id", length = 10, nullable = false)
+    private String linkId;
+
+    @Column(name = "clicked_at", nullable = false)
+    private Long clickedAt;
+
+    @Column(name = "referrer")
+    private String referrer;
+
+    @Column(name = "user_agent")
+    private String userAgent;
+
+    @Column(name = "country", length = 2, nullable = false)
+    private String country;
+
+    public LinkClick() {}
+
+    public Long getId() { return id; }
+
+    public String getLinkId() { return linkId; }
+
+    public Long getClickedAt() { return clickedAt; }
+
+    public String getReferrer() { return referrer; }
+
+    public String getUserAgent() { return userAgent; }
+
+    public String getCountry() { return country; }
+}
@@ -0,0 +1,11 @@
+package org.example.s29624tpo11.models;
+
+/**
+ * {@code TEMPORARY} links answer 302 with {@code Cache-Control: no-store}, so every click reaches
+ * the service and is counted. {@code PERMANENT} links answer 301 with a {@code max-age}, letting
+ * browsers and CDNs serve repeat clicks without asking (and without counting them).
+ */
+public enum RedirectType {
+    TEMPORARY,
+    PERMANENT
+}
@@ -0,0 +1,20 @@
+package org.example.s29624tpo11.models;
+
+import jakarta.persistence.*;
+
+@Entity
+@Table(name = "replica_heartbeat")
+public class ReplicaHeartbeat {
+
+    @Id
+    private Integer id;
+
+    @Column(name = "beat_at", nullable = false)
+    private Long beatAt;
+
+    public ReplicaHeartbeat() {}
+
+    public Integer getId() { return id; }
+
+    public Long getBeatAt() { return beatAt; }
+}
@@ -0,0 +1,22 @@
+package org.example.s29624tpo11.models;
+
+import jakarta.persistence.*;
+
+@Entity
+@Table(name = "visit_rollups", indexes = {
+        @Index(name = "idx_visit_rollups_resolution_bucket", columnList = "resolution, bucket_start")
+})
+public class VisitRollup {
+
+    @EmbeddedId
+    private VisitRollupId id;
+
+    @Column(name = "visits", nullable = false)
+    private Long visits;
+
+    public VisitRollup() {}
+
+    public VisitRollupId getId() { return id; }
+
+    public Long getVisits() { return visits; }
+}
@@ -0,0 +1,52 @@
+package org.example.s29624tpo11.models;
+
+import jakarta.persistence.*;
+import org.example.s29624tpo11.services.TimeBucket;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+@Embeddable
+public class VisitRollupId implements Serializable {
+
+    @Column(name = "link_id", length = 10, nullable = false)
+    private String linkId;
+
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(name = "resolution", length = 6, nullable = false)
+    private TimeBucket resolution;
+
+    @Column(name = "bucket_start", nullable = false)
+    private Long bucketStart;
+
+    public VisitRollupId() {}
+
+    public VisitRollupId(String linkId, TimeBucket resolution, Long bucketStart) {
+        this.linkId = linkId;
+        this.resolution = resolution;
+        this.bucketStart = bucketStart;
+    }
+
+    public String getLinkId() { return linkId; }
+
+    public TimeBucket getResolution() { return resolution; }
+
+    public Long getBucketStart() { return bucketStart; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof VisitRollupId other)) return false;
+        return Objects.equals(linkId, other.linkId)
+                && resolution == other.resolution
+                && Objects.equals(bucketStart, other.bucketStart);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(linkId, resolution, bucketStart);
+    }
+}
@@ -1,12 +1,96 @@
 package org.example.s29624tpo11.repositories;
 
+import jakarta.persistence.QueryHint;
 import org.example.s29624tpo11.models.Link;
+import org.example.s29624tpo11.services.RedirectTarget;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface LinkRepository extends JpaRepository<Link, String> {
+    @Transactional(readOnly = true)
     Optional<Link> findByName(String name);
-}
\ No newline at end of file
+
+    @Transactional(readOnly = true)
+    Slice<Link> findByNameKeyStartingWith(String prefix, Pageable pageable);
+
+    @Transactional(readOnly = true)
+    @Query("select new org.example.s29624tpo11.services.RedirectTarget("
+            + "l.targetUrl, l.expiresAt, l.maxVisits, l.redirectType, l.maxAge) from Link l where l.id = :id")
+    Optional<RedirectTarget> findRedirectTargetById(@Param("id") String id);
+
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE links SET visits = visits + 1 WHERE id = :id", nativeQuery = true)
+    int incrementVisits(@Param("id") String id);
+
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE links SET visits = visits + 1 WHERE id = :id AND visits < max_visits", nativeQuery = true)
+    int incrementVisitsBelowCap(@Param("id") String id);
+
+    // Compare-and-set without a version bump: a rehash does not change what clients can see.
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE links SET password = :password WHERE id = :id AND password = :expected", nativeQuery = true)
+    int replacePassword(@Param("id") String id, @Param("expected") String expected, @Param("password") String password);
+
+    @Transactional
+    @Modifying
+    @Query("update versioned Link l set l.expiresAt = :now where l.id = :id and (l.expiresAt is null or l.expiresAt > :now)")
+    int expire(@Param("id") String id, @Param("now") Instant now);
+
+    // Range scan over idx_links_expires_at; never touches links that do not expire.
+    @Query("select l.id from Link l where l.expiresAt <= :now order by l.expiresAt")
+    List<String> findExpiredIds(@Param("now") Instant now, Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query("delete from Link l where l.id in :ids and l.expiresAt <= :now")
+    int deleteExpired(@Param("ids") Collection<String> ids, @Param("now") Instant now);
+
+    @Query("select l.name from Link l where l.name in :names")
+    List<String> findExistingNames(@Param("names") Collection<String> names);
+
+    @Query("select l.id from Link l where l.id in :ids")
+    List<String> findExistingIds(@Param("ids") Collection<String> ids);
+
+    @Transactional(readOnly = true)
+    @Query("select l from Link l order by l.id")
+    List<Link> findFirstPageById(Pageable pageable);
+
+    @Transactional(readOnly = true)
+    @Query("select l from Link l where l.id > :after order by l.id")
+    List<Link> findPageAfterId(@Param("after") String after, Pageable pageable);
+
+    @Transactional(readOnly = true)
+    @Query("select l from Link l order by l.visits desc, l.id")
+    List<Link> findFirstPageByVisits(Pageable pageable);
+
+    @Transactional(readOnly = true)
+    // visits <= :visits bounds the index range; the OR only filters rows inside it.
+    @Query("select l from Link l where l.visits <= :visits and (l.visits < :visits or l.id > :id)"
+            + " order by l.visits desc, l.id")
+    List<Link> findPageAfterVisits(@Param("visits") long visits, @Param("id") String id, Pageable pageable);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select l from Link l order by l.id")
+    Stream<Link> streamAll();
+}
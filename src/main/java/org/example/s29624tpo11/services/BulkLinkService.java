@@ -0,0 +1,310 @@
+package org.example.s29624tpo11.services;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.example.s29624tpo11.DTOs.BatchItemResultDTO;
+import org.example.s29624tpo11.DTOs.BatchItemResultDTO.Status;
+import org.example.s29624tpo11.DTOs.BatchResponseDTO;
+import org.example.s29624tpo11.DTOs.CreateLinkDTO;
+import org.example.s29624tpo11.DTOs.ResponseDTO;
+import org.example.s29624tpo11.exceptions.BatchTooLargeException;
+import org.example.s29624tpo11.models.Link;
+import org.example.s29624tpo11.repositories.LinkRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.MessageSource;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+@Service
+public class BulkLinkService {
+
+    private static final int MAX_ID_ATTEMPTS = 3;
+
+    private final LinkRepository linkRepository;
+    private final IdGenerator idGenerator;
+    private final RedirectCache redirectCache;
+    private final PasswordHasher passwordHasher;
+    private final Validator validator;
+    private final MessageSource messageSource;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${app.base-url:http://localhost:8080}")
+    private String baseUrl;
+
+    @Value("${app.batch.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${app.batch.max-items:50000}")
+    private int maxItems;
+
+    @Value("${app.batch.max-bytes:32MB}")
+    private DataSize maxBytes;
+
+    @Autowired
+    public BulkLinkService(LinkRepository linkRepository, IdGenerator idGenerator, RedirectCache redirectCache,
+                           PasswordHasher passwordHasher, Validator validator, MessageSource messageSource,
+                           ObjectMapper objectMapper, PlatformTransactionManager transactionManager) {
+        this.linkRepository = linkRepository;
+        this.idGenerator = idGenerator;
+        this.redirectCache = redirectCache;
+        this.passwordHasher = passwordHasher;
+        this.validator = validator;
+        this.messageSource = messageSource;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Reads a JSON array or NDJSON stream of links, giving up as soon as it holds more than
+     * {@code app.batch.max-items} items or {@code app.batch.max-bytes} bytes.
+     */
+    public List<CreateLinkDTO> readBatch(InputStream body) throws IOException {
+        List<CreateLinkDTO> requests = new ArrayList<>();
+        try (MappingIterator<CreateLinkDTO> items = objectMapper.readerFor(CreateLinkDTO.class)
+                .readValues(new LimitedInputStream(body, maxBytes.toBytes()))) {
+            while (items.hasNextValue()) {
+                if (requests.size() == maxItems) {
+                    throw new BatchTooLargeException("Batch exceeds " + maxItems + " items");
+                }
+                requests.add(items.nextValue());
+            }
+        }
+        return requests;
+    }
+
+    public BatchResponseDTO createLinks(List<CreateLinkDTO> requests, boolean partial, Locale locale) {
+        if (requests.size() > maxItems) {
+            throw new BatchTooLargeException("Batch exceeds " + maxItems + " items");
+        }
+
+        List<BatchItemResultDTO> results = new ArrayList<>(requests.size());
+        List<Integer> accepted = new ArrayList<>(requests.size());
+        Set<String> batchNames = new HashSet<>();
+
+        for (int i = 0; i < requests.size(); i++) {
+            CreateLinkDTO request = requests.get(i);
+            BatchItemResultDTO result = new BatchItemResultDTO(i, Status.CREATED);
+            results.add(result);
+
+            Set<ConstraintViolation<CreateLinkDTO>> violations =
+                    request == null ? Set.of() : validator.validate(request);
+            if (request == null || !violations.isEmpty()) {
+                result.setStatus(Status.INVALID);
+                result.setError(messageSource.getMessage("error.validation", null, locale));
+                result.setErrors(localize(violations, locale));
+            } else if (!batchNames.add(request.getName())) {
+                markDuplicate(result, locale);
+            } else {
+                accepted.add(i);
+            }
+        }
+
+        Set<String> existingNames = findExistingNames(new ArrayList<>(batchNames));
+        List<Integer> toInsert = new ArrayList<>(accepted.size());
+        for (Integer index : accepted) {
+            if (existingNames.contains(requests.get(index).getName())) {
+                markDuplicate(results.get(index), locale);
+            } else {
+                toInsert.add(index);
+            }
+        }
+
+        if (!partial && toInsert.size() < requests.size()) {
+            skip(results, toInsert);
+            return new BatchResponseDTO(results);
+        }
+
+        if (partial) {
+            for (int from = 0; from < toInsert.size(); from += chunkSize) {
+                insertChunkOrEach(requests, results, toInsert.subList(from, Math.min(from + chunkSize, toInsert.size())), locale);
+            }
+        } else {
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> {
+                        for (int from = 0; from < toInsert.size(); from += chunkSize) {
+                            insert(requests, results, toInsert.subList(from, Math.min(from + chunkSize, toInsert.size())));
+                        }
+                    });
+                    break;
+                } catch (DataIntegrityViolationException e) {
+                    // A name taken since the check above: reported per item, like a duplicate found up front.
+                    Set<String> taken = findExistingNames(toInsert.stream().map(index -> requests.get(index).getName()).toList());
+                    if (!taken.isEmpty()) {
+                        List<Integer> skipped = new ArrayList<>(toInsert.size());
+                        for (Integer index : toInsert) {
+                            if (taken.contains(requests.get(index).getName())) {
+                                results.get(index).setLink(null);
+                                markDuplicate(results.get(index), locale);
+                            } else {
+                                skipped.add(index);
+                            }
+                        }
+                        skip(results, skipped);
+                        return new BatchResponseDTO(results);
+                    }
+                    // Not a name: an id taken outside this generator, retried with fresh ids.
+                    if (attempt == MAX_ID_ATTEMPTS) {
+                        throw e;
+                    }
+                }
+            }
+        }
+
+        return new BatchResponseDTO(results);
+    }
+
+    private void insertChunkOrEach(List<CreateLinkDTO> requests, List<BatchItemResultDTO> results,
+                                   List<Integer> chunk, Locale locale) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> insert(requests, results, chunk));
+        } catch (DataIntegrityViolationException e) {
+            for (Integer index : chunk) {
+                insertOne(requests, results, index, locale);
+            }
+        }
+    }
+
+    private void insertOne(List<CreateLinkDTO> requests, List<BatchItemResultDTO> results, Integer index, Locale locale) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> insert(requests, results, List.of(index)));
+                return;
+            } catch (DataIntegrityViolationException e) {
+                if (!linkRepository.findExistingNames(List.of(requests.get(index).getName())).isEmpty()) {
+                    markDuplicate(results.get(index), locale);
+                    return;
+                }
+                if (attempt == MAX_ID_ATTEMPTS) {
+                    BatchItemResultDTO result = results.get(index);
+                    result.setStatus(Status.FAILED);
+                    result.setError(messageSource.getMessage("error.generic", null, locale));
+                    return;
+                }
+            }
+        }
+    }
+
+    private void insert(List<CreateLinkDTO> requests, List<BatchItemResultDTO> results, List<Integer> chunk) {
+        List<Link> links = new ArrayList<>(chunk.size());
+        for (Integer index : chunk) {
+            CreateLinkDTO request = requests.get(index);
+            String password = request.getPassword() == null || request.getPassword().isEmpty()
+                    ? request.getPassword()
+                    : passwordHasher.hash(request.getPassword());
+            Link link = new Link(idGenerator.nextId(), request.getName(), request.getTargetUrl(), password);
+            link.setExpiresAt(request.getExpiresAt());
+            link.setMaxVisits(request.getMaxVisits());
+            link.setRedirectType(request.getRedirectType());
+            link.setMaxAge(request.getMaxAge());
+            links.add(link);
+        }
+
+        linkRepository.saveAll(links);
+        linkRepository.flush();
+        entityManager.clear();
+
+        for (int i = 0; i < links.size(); i++) {
+            Link link = links.get(i);
+            redirectCache.invalidate(link.getId());
+            results.get(chunk.get(i)).setLink(new ResponseDTO(link, baseUrl));
+        }
+    }
+
+    private Set<String> findExistingNames(List<String> names) {
+        Set<String> existing = new HashSet<>();
+        for (int from = 0; from < names.size(); from += chunkSize) {
+            existing.addAll(linkRepository.findExistingNames(names.subList(from, Math.min(from + chunkSize, names.size()))));
+        }
+        return existing;
+    }
+
+    // Links set by a chunk that was rolled back with the rest of the batch are cleared again.
+    private static void skip(List<BatchItemResultDTO> results, List<Integer> indexes) {
+        for (Integer index : indexes) {
+            results.get(index).setStatus(Status.SKIPPED);
+            results.get(index).setLink(null);
+        }
+    }
+
+    private void markDuplicate(BatchItemResultDTO result, Locale locale) {
+        result.setStatus(Status.DUPLICATE);
+        result.setError(messageSource.getMessage("error.duplicate.name", null, locale));
+    }
+
+    private Map<String, String> localize(Set<ConstraintViolation<CreateLinkDTO>> violations, Locale locale) {
+        Map<String, String> errors = new HashMap<>();
+        for (ConstraintViolation<CreateLinkDTO> violation : violations) {
+            String template = violation.getMessageTemplate();
+            String code = template.startsWith("{") && template.endsWith("}")
+                    ? template.substring(1, template.length() - 1)
+                    : template;
+            errors.put(violation.getPropertyPath().toString(),
+                    messageSource.getMessage(code, null, violation.getMessage(), locale));
+        }
+        return errors;
+    }
+
+    private static final class LimitedInputStream extends FilterInputStream {
+
+        private final long limit;
+        private long read;
+
+        LimitedInputStream(InputStream in, long limit) {
+            super(in);
+            this.limit = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = super.read(buffer, offset, length);
+            if (n > 0) {
+                count(n);
+            }
+            return n;
+        }
+
+        // The request body is not closed by us; the container owns it.
+        @Override
+        public void close() {}
+
+        private void count(int n) {
+            read += n;
+            if (read > limit) {
+                throw new BatchTooLargeException("Batch exceeds " + limit + " bytes");
+            }
+        }
+    }
+}
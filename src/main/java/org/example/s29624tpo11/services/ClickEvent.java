@@ -0,0 +1,4 @@
+package org.example.s29624tpo11.services;
+
+public record ClickEvent(String linkId, long timestamp, String referrer, String userAgent, String country) {
+}
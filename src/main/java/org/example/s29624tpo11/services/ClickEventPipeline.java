@@ -0,0 +1,127 @@
+package org.example.s29624tpo11.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded, non-blocking hand-off of click events from the redirect path to the
+ * {@code link_clicks} table. When the queue is full the event is dropped and counted;
+ * {@link #publish} never waits.
+ */
+@Component
+public class ClickEventPipeline {
+
+    private static final Logger log = LoggerFactory.getLogger(ClickEventPipeline.class);
+    private static final String INSERT_SQL =
+            "INSERT INTO link_clicks (link_id, clicked_at, referrer, user_agent, country) VALUES (?, ?, ?, ?, ?)";
+    private static final int MAX_TEXT = 255;
+    private static final String UNKNOWN_COUNTRY = "ZZ";
+
+    private final ConcurrentLinkedQueue<ClickEvent> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final ReentrantLock drainLock = new ReentrantLock();
+    private final JdbcTemplate jdbcTemplate;
+    private final Counter dropped;
+    private final Counter written;
+
+    @Value("${app.clicks.queue-capacity:100000}")
+    private int capacity;
+
+    @Value("${app.clicks.batch-size:1000}")
+    private int batchSize;
+
+    @Autowired
+    public ClickEventPipeline(JdbcTemplate jdbcTemplate, MeterRegistry registry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dropped = Counter.builder("links.clicks.dropped")
+                .description("Click events dropped because the queue was full")
+                .register(registry);
+        this.written = Counter.builder("links.clicks.written").register(registry);
+        Gauge.builder("links.clicks.queued", size, AtomicInteger::get).register(registry);
+    }
+
+    public boolean publish(ClickEvent event) {
+        if (size.incrementAndGet() > capacity) {
+            size.decrementAndGet();
+            dropped.increment();
+            return false;
+        }
+        queue.offer(event);
+        return true;
+    }
+
+    @Scheduled(fixedDelayString = "${app.clicks.drain-interval:200}")
+    public void drain() {
+        drainLock.lock();
+        try {
+            List<Object[]> batch = new ArrayList<>(batchSize);
+            ClickEvent event;
+            while ((event = queue.poll()) != null) {
+                size.decrementAndGet();
+                batch.add(toRow(event));
+                if (batch.size() == batchSize) {
+                    write(batch);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                write(batch);
+            }
+        } finally {
+            drainLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        drain();
+    }
+
+    private void write(List<Object[]> batch) {
+        try {
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+            written.increment(batch.size());
+        } catch (RuntimeException e) {
+            dropped.increment(batch.size());
+            log.warn("Dropping {} click events after a failed insert", batch.size(), e);
+        }
+    }
+
+    private static Object[] toRow(ClickEvent event) {
+        return new Object[]{
+                event.linkId(),
+                event.timestamp(),
+                truncate(event.referrer()),
+                truncate(event.userAgent()),
+                countryBucket(event.country())
+        };
+    }
+
+    private static String truncate(String value) {
+        return value == null || value.length() <= MAX_TEXT ? value : value.substring(0, MAX_TEXT);
+    }
+
+    private static String countryBucket(String country) {
+        if (country == null || country.length() != 2
+                || !Character.isLetter(country.charAt(0)) || !Character.isLetter(country.charAt(1))) {
+            return UNKNOWN_COUNTRY;
+        }
+        return country.toUpperCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,84 @@
+package org.example.s29624tpo11.services;
+
+import org.example.s29624tpo11.DTOs.ClickBucketDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Reads click counts from {@code link_clicks} and keeps the table bounded: clicks go with their
+ * link, and {@link #compact()} deletes clicks older than {@code app.clicks.retention}. Events still
+ * queued in {@link ClickEventPipeline} when a link is deleted are caught by the retention sweep.
+ */
+@Service
+public class ClickStatsService {
+
+    private static final Logger log = LoggerFactory.getLogger(ClickStatsService.class);
+    // The bucket width is a bind parameter; grouping over the derived column keeps the SELECT and
+    // GROUP BY expressions identical without repeating the parameter.
+    private static final String CLICKS_SQL =
+            "SELECT bucket_index, COUNT(*) AS clicks FROM"
+                    + " (SELECT clicked_at / ? AS bucket_index FROM link_clicks"
+                    + " WHERE link_id = ? AND clicked_at >= ? AND clicked_at < ?) buckets"
+                    + " GROUP BY bucket_index ORDER BY bucket_index";
+    private static final String DELETE_SQL = "DELETE FROM link_clicks WHERE link_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.clicks.retention:90d}")
+    private Duration retention;
+
+    @Value("${app.rollups.max-buckets:1440}")
+    private int maxBuckets;
+
+    @Autowired
+    public ClickStatsService(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Click counts per {@code bucket} for {@code [from, to)}.
+     *
+     * @throws IllegalArgumentException if the range spans more than {@code app.rollups.max-buckets} buckets
+     */
+    public List<ClickBucketDTO> clicks(String linkId, Instant from, Instant to, TimeBucket bucket) {
+        long start = from.toEpochMilli();
+        long end = to.toEpochMilli();
+        if ((end - start) / bucket.millis() > maxBuckets) {
+            throw new IllegalArgumentException("More than " + maxBuckets + " buckets requested");
+        }
+        return jdbcTemplate.query(CLICKS_SQL,
+                (rs, row) -> new ClickBucketDTO(
+                        Instant.ofEpochMilli(rs.getLong("bucket_index") * bucket.millis()), rs.getLong("clicks")),
+                bucket.millis(), linkId, start, end);
+    }
+
+    public void delete(String linkId) {
+        jdbcTemplate.update(DELETE_SQL, linkId);
+    }
+
+    public void deleteAll(Collection<String> linkIds) {
+        List<Object[]> params = new ArrayList<>(linkIds.size());
+        for (String linkId : linkIds) {
+            params.add(new Object[]{linkId});
+        }
+        jdbcTemplate.batchUpdate(DELETE_SQL, params);
+    }
+
+    @Scheduled(cron = "${app.clicks.compaction-cron:0 45 * * * *}")
+    public void compact() {
+        int removed = jdbcTemplate.update("DELETE FROM link_clicks WHERE clicked_at < ?",
+                System.currentTimeMillis() - retention.toMillis());
+        log.info("Compacted link clicks: {} rows removed", removed);
+    }
+}
@@ -0,0 +1,44 @@
+package org.example.s29624tpo11.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.event.EventListener;
+
+/**
+ * Keeps the redirect caches of all nodes consistent: local link changes are broadcast as
+ * {@code nodeId:linkId} messages, and messages from other nodes invalidate the local entry.
+ * Messages carrying this node's own id (e.g. a UDP peer list that includes this node) are ignored.
+ */
+public class ClusterInvalidation {
+
+    private final ClusterTransport transport;
+    private final RedirectCache redirectCache;
+    private final String prefix;
+    private final Counter sent;
+    private final Counter received;
+
+    public ClusterInvalidation(ClusterTransport transport, RedirectCache redirectCache, int nodeId,
+                               MeterRegistry registry) {
+        this.transport = transport;
+        this.redirectCache = redirectCache;
+        this.prefix = nodeId + ":";
+        this.sent = Counter.builder("links.cluster.invalidations").tag("direction", "sent").register(registry);
+        this.received = Counter.builder("links.cluster.invalidations").tag("direction", "received").register(registry);
+        transport.onMessage(this::receive);
+    }
+
+    @EventListener
+    public void onLinkChanged(LinkChangedEvent event) {
+        transport.send(prefix + event.linkId());
+        sent.increment();
+    }
+
+    private void receive(String message) {
+        int separator = message.indexOf(':');
+        if (separator <= 0 || message.startsWith(prefix)) {
+            return;
+        }
+        redirectCache.invalidate(message.substring(separator + 1));
+        received.increment();
+    }
+}
@@ -0,0 +1,17 @@
+package org.example.s29624tpo11.services;
+
+import java.util.function.Consumer;
+
+/**
+ * Best-effort broadcast of small text messages to the other nodes of the cluster. Delivery is
+ * not guaranteed; receivers must tolerate lost and duplicated messages.
+ */
+public interface ClusterTransport extends AutoCloseable {
+
+    void send(String message);
+
+    void onMessage(Consumer<String> listener);
+
+    @Override
+    void close();
+}
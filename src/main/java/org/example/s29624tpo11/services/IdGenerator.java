@@ -0,0 +1,11 @@
+package org.example.s29624tpo11.services;
+
+import java.util.Collection;
+
+public interface IdGenerator {
+
+    String nextId();
+
+    /** Called after links were inserted with ids this generator did not hand out, e.g. by an import. */
+    default void reserve(Collection<String> ids) {}
+}
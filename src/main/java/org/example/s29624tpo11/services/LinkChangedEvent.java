@@ -0,0 +1,8 @@
+package org.example.s29624tpo11.services;
+
+/**
+ * Published after a link was created, updated or deleted on this node and its local redirect
+ * cache entry was invalidated.
+ */
+public record LinkChangedEvent(String linkId) {
+}
@@ -0,0 +1,40 @@
+package org.example.s29624tpo11.services;
+
+import org.example.s29624tpo11.exceptions.InvalidCursorException;
+import org.example.s29624tpo11.models.Link;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position after the last row of a listing page. Encoded as url-safe base64 of {@code id:<id>} or
+ * {@code visits:<visits>:<id>}; clients only pass it back.
+ */
+public record LinkCursor(LinkSort sort, long visits, String id) {
+
+    public enum LinkSort { ID, VISITS }
+
+    public static LinkCursor after(LinkSort sort, Link link) {
+        return new LinkCursor(sort, link.getVisits(), link.getId());
+    }
+
+    public String encode() {
+        String raw = sort == LinkSort.ID ? "id:" + id : "visits:" + visits + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static LinkCursor decode(String cursor, LinkSort expected) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":", 3);
+            if (expected == LinkSort.ID && parts.length == 2 && parts[0].equals("id")) {
+                return new LinkCursor(LinkSort.ID, 0, parts[1]);
+            }
+            if (expected == LinkSort.VISITS && parts.length == 3 && parts[0].equals("visits")) {
+                return new LinkCursor(LinkSort.VISITS, Long.parseLong(parts[1]), parts[2]);
+            }
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Malformed cursor");
+        }
+        throw new InvalidCursorException("Cursor does not match sort order");
+    }
+}
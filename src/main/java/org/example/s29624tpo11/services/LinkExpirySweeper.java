@@ -0,0 +1,91 @@
+package org.example.s29624tpo11.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.example.s29624tpo11.repositories.LinkRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Deletes expired links in small batches. Each batch reads at most {@code app.expiry.batch-size}
+ * ids from the {@code expires_at} index and deletes them in a short transaction of its own, so
+ * the sweep never scans the table and never holds locks long enough to stall redirects. A run
+ * stops after {@code app.expiry.max-batches}; any backlog is picked up by the next run.
+ * <p>
+ * Redirects reject expired links on their own, so sweeping late only delays reclaiming space.
+ * Several nodes may sweep at once; deletes of already-deleted ids are no-ops.
+ */
+@Component
+public class LinkExpirySweeper {
+
+    private static final Logger log = LoggerFactory.getLogger(LinkExpirySweeper.class);
+
+    private final LinkRepository linkRepository;
+    private final RedirectCache redirectCache;
+    private final VisitCounter visitCounter;
+    private final VisitRollups visitRollups;
+    private final ClickStatsService clickStats;
+    private final Timer sweeps;
+    private final Counter deleted;
+
+    @Value("${app.expiry.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.expiry.max-batches:20}")
+    private int maxBatches;
+
+    @Autowired
+    public LinkExpirySweeper(LinkRepository linkRepository, RedirectCache redirectCache, VisitCounter visitCounter,
+                             VisitRollups visitRollups, ClickStatsService clickStats, MeterRegistry registry) {
+        this.linkRepository = linkRepository;
+        this.redirectCache = redirectCache;
+        this.visitCounter = visitCounter;
+        this.visitRollups = visitRollups;
+        this.clickStats = clickStats;
+        this.sweeps = Timer.builder("links.expiry.sweeps").register(registry);
+        this.deleted = Counter.builder("links.expiry.deleted").register(registry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.expiry.sweep-interval:10000}")
+    public void sweep() {
+        sweeps.record(() -> {
+            Instant now = Instant.now();
+            int total = 0;
+            for (int batch = 0; batch < maxBatches; batch++) {
+                int removed = sweepBatch(now);
+                total += removed;
+                if (removed < batchSize) {
+                    break;
+                }
+            }
+            if (total > 0) {
+                log.info("Deleted {} expired links", total);
+            }
+        });
+    }
+
+    int sweepBatch(Instant now) {
+        List<String> ids = linkRepository.findExpiredIds(now, PageRequest.of(0, batchSize));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        int removed = linkRepository.deleteExpired(ids, now);
+        deleted.increment(removed);
+        for (String id : ids) {
+            redirectCache.invalidate(id);
+            visitCounter.discard(id);
+        }
+        visitRollups.deleteAll(ids);
+        clickStats.deleteAll(ids);
+        return ids.size();
+    }
+}
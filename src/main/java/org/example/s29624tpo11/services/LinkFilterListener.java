@@ -0,0 +1,43 @@
+package org.example.s29624tpo11.services;
+
+import org.example.s29624tpo11.models.Link;
+import org.hibernate.event.spi.PreInsertEvent;
+import org.hibernate.event.spi.PreInsertEventListener;
+import org.hibernate.event.spi.PreUpdateEvent;
+import org.hibernate.event.spi.PreUpdateEventListener;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hibernate listener that adds every inserted or renamed {@link Link} to {@link LinkFilters}
+ * before the statement runs, whichever service (or test) saved it. Registered with the session
+ * factory by {@code LinkFilterConfig}, so the entity itself knows nothing about the filters.
+ */
+@Component
+public class LinkFilterListener implements PreInsertEventListener, PreUpdateEventListener {
+
+    private final LinkFilters linkFilters;
+
+    @Autowired
+    public LinkFilterListener(LinkFilters linkFilters) {
+        this.linkFilters = linkFilters;
+    }
+
+    @Override
+    public boolean onPreInsert(PreInsertEvent event) {
+        added(event.getEntity());
+        return false;
+    }
+
+    @Override
+    public boolean onPreUpdate(PreUpdateEvent event) {
+        added(event.getEntity());
+        return false;
+    }
+
+    private void added(Object entity) {
+        if (entity instanceof Link link) {
+            linkFilters.add(link.getId(), link.getName());
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package org.example.s29624tpo11.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bloom filters over existing link ids and names. A definite miss lets {@link LinkService} answer
+ * 404 for unknown ids and skip the duplicate-name query without a database round trip.
+ * <p>
+ * The filters are built by streaming the {@code links} table once the application is ready and
+ * rebuilt every {@code app.bloom.rebuild-interval}, which is how deleted links drop out. New ids
+ * and names are added by {@link LinkFilterListener} before the row is inserted. Adds from the last
+ * minute are replayed into each rebuilt filter, so a row committed after the rebuild's snapshot is
+ * not lost. Until the first build completes every lookup answers "maybe".
+ * <p>
+ * In clustered mode other nodes create links this node never sees, so the id filter is not
+ * consulted there; the name filter stays safe because the unique constraint still rejects
+ * duplicates it lets through.
+ */
+@Component
+public class LinkFilters {
+
+    private static final Logger log = LoggerFactory.getLogger(LinkFilters.class);
+    private static final long JOURNAL_WINDOW_MILLIS = 60_000;
+
+    private record Filters(BloomFilter ids, BloomFilter names) {
+        void add(String id, String name) {
+            if (id != null) {
+                ids.add(id);
+            }
+            if (name != null) {
+                names.add(name);
+            }
+        }
+    }
+
+    private record Added(long at, String id, String name) {}
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ConcurrentLinkedQueue<Added> journal = new ConcurrentLinkedQueue<>();
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private final Counter idRejections;
+    private final Counter nameRejections;
+    private final boolean enabled;
+    private final boolean idGate;
+    private final long expectedLinks;
+    private final double falsePositiveRate;
+
+    private volatile Filters current;
+    private volatile Filters building;
+
+    @Autowired
+    public LinkFilters(DataSource dataSource, MeterRegistry registry,
+                       @Value("${app.bloom.enabled:true}") boolean enabled,
+                       @Value("${app.bloom.expected-links:1000000}") long expectedLinks,
+                       @Value("${app.bloom.false-positive-rate:0.01}") double falsePositiveRate,
+                       @Value("${app.cluster.enabled:false}") boolean clustered) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(1000);
+        this.enabled = enabled;
+        this.idGate = enabled && !clustered;
+        this.expectedLinks = expectedLinks;
+        this.falsePositiveRate = falsePositiveRate;
+        this.idRejections = Counter.builder("links.bloom.rejections").tag("filter", "ids").register(registry);
+        this.nameRejections = Counter.builder("links.bloom.rejections").tag("filter", "names").register(registry);
+        Gauge.builder("links.bloom.false.positive.rate", this, f -> f.expectedRate(true))
+                .tag("filter", "ids").register(registry);
+        Gauge.builder("links.bloom.false.positive.rate", this, f -> f.expectedRate(false))
+                .tag("filter", "names").register(registry);
+        Gauge.builder("links.bloom.bits", this, f -> f.current == null ? 0 : f.current.ids().bits())
+                .register(registry);
+    }
+
+    public boolean mightContainId(String id) {
+        Filters filters = current;
+        if (!idGate || filters == null || filters.ids().mightContain(id)) {
+            return true;
+        }
+        idRejections.increment();
+        return false;
+    }
+
+    public boolean mightContainName(String name) {
+        Filters filters = current;
+        if (!enabled || filters == null || filters.names().mightContain(name)) {
+            return true;
+        }
+        nameRejections.increment();
+        return false;
+    }
+
+    public void add(String id, String name) {
+        if (!enabled) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        journal.add(new Added(now, id, name));
+        Added oldest;
+        while ((oldest = journal.peek()) != null && oldest.at() < now - JOURNAL_WINDOW_MILLIS) {
+            journal.remove(oldest);
+        }
+
+        // Journal first, then building before current: an add that misses the filter being
+        // built either precedes its journal replay or runs after it was already swapped in.
+        Filters next = building;
+        if (next != null) {
+            next.add(id, name);
+        }
+        Filters filters = current;
+        if (filters != null) {
+            filters.add(id, name);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        rebuild();
+    }
+
+    @Scheduled(initialDelayString = "${app.bloom.rebuild-interval:3600000}",
+            fixedDelayString = "${app.bloom.rebuild-interval:3600000}")
+    public void rebuild() {
+        if (!enabled || !rebuildLock.tryLock()) {
+            return;
+        }
+        try {
+            long start = System.currentTimeMillis();
+            Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM links", Long.class);
+            long capacity = Math.max(expectedLinks, 2 * (count == null ? 0 : count));
+            Filters next = new Filters(new BloomFilter(capacity, falsePositiveRate),
+                    new BloomFilter(capacity, falsePositiveRate));
+            building = next;
+            jdbcTemplate.query("SELECT id, name FROM links", rs -> {
+                next.add(rs.getString(1), rs.getString(2));
+            });
+            for (Added added : journal) {
+                next.add(added.id(), added.name());
+            }
+            current = next;
+            log.info("Built link filters in {} ms: {} links, {} bits, {} hashes, expected false positive rate {}",
+                    System.currentTimeMillis() - start, count, next.ids().bits(), next.ids().hashes(),
+                    next.ids().expectedFalsePositiveRate());
+        } finally {
+            building = null;
+            rebuildLock.unlock();
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        Filters filters = current;
+        stats.put("enabled", enabled);
+        stats.put("idGate", idGate);
+        stats.put("ready", filters != null);
+        if (filters != null) {
+            stats.put("bits", filters.ids().bits());
+            stats.put("hashes", filters.ids().hashes());
+            stats.put("insertions", filters.ids().insertions());
+            stats.put("configuredFalsePositiveRate", falsePositiveRate);
+            stats.put("idFalsePositiveRate", filters.ids().expectedFalsePositiveRate());
+            stats.put("nameFalsePositiveRate", filters.names().expectedFalsePositiveRate());
+        }
+        stats.put("idRejections", (long) idRejections.count());
+        stats.put("nameRejections", (long) nameRejections.count());
+        return stats;
+    }
+
+    private double expectedRate(boolean ids) {
+        Filters filters = current;
+        if (filters == null) {
+            return 1.0;
+        }
+        return (ids ? filters.ids() : filters.names()).expectedFalsePositiveRate();
+    }
+}
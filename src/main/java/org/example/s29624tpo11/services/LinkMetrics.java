@@ -0,0 +1,77 @@
+package org.example.s29624tpo11.services;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.example.s29624tpo11.exceptions.DuplicateNameException;
+import org.example.s29624tpo11.exceptions.InvalidCursorException;
+import org.example.s29624tpo11.exceptions.LinkExpiredException;
+import org.example.s29624tpo11.exceptions.LinkNotFoundException;
+import org.example.s29624tpo11.exceptions.WrongPasswordException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Times {@link LinkService} operations as {@code links.operations}, tagged with the operation and
+ * its outcome, and published as percentile histograms.
+ */
+@Component
+public class LinkMetrics {
+
+    private final MeterRegistry registry;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    @Autowired
+    public LinkMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    public <T> T record(String operation, String successOutcome, Supplier<T> action) {
+        Timer.Sample sample = Timer.start(registry);
+        String outcome = "error";
+        try {
+            T result = action.get();
+            outcome = successOutcome;
+            return result;
+        } catch (LinkExpiredException e) {
+            outcome = "expired";
+            throw e;
+        } catch (LinkNotFoundException e) {
+            outcome = "not_found";
+            throw e;
+        } catch (WrongPasswordException e) {
+            outcome = "wrong_password";
+            throw e;
+        } catch (DuplicateNameException e) {
+            outcome = "duplicate";
+            throw e;
+        } catch (InvalidCursorException e) {
+            outcome = "invalid_cursor";
+            throw e;
+        } catch (ObjectOptimisticLockingFailureException e) {
+            outcome = "conflict";
+            throw e;
+        } finally {
+            sample.stop(timer(operation, outcome));
+        }
+    }
+
+    public void record(String operation, String successOutcome, Runnable action) {
+        record(operation, successOutcome, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    private Timer timer(String operation, String outcome) {
+        return timers.computeIfAbsent(operation + ':' + outcome, key -> Timer.builder("links.operations")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(registry));
+    }
+}
@@ -1,8 +1,12 @@
 package org.example.s29624tpo11.services;
 
 import org.example.s29624tpo11.DTOs.CreateLinkDTO;
+import org.example.s29624tpo11.DTOs.LinkPageDTO;
+import org.example.s29624tpo11.DTOs.LinkSearchPageDTO;
+import org.example.s29624tpo11.DTOs.LinkSummaryDTO;
 import org.example.s29624tpo11.DTOs.ResponseDTO;
 import org.example.s29624tpo11.DTOs.UpdateLinkDTO;
+import org.example.s29624tpo11.exceptions.LinkExpiredException;
 import org.example.s29624tpo11.exceptions.LinkNotFoundException;
 import org.example.s29624tpo11.exceptions.WrongPasswordException;
 import org.example.s29624tpo11.exceptions.DuplicateNameException;
@@ -10,129 +14,339 @@ import org.example.s29624tpo11.models.Link;
 import org.example.s29624tpo11.repositories.LinkRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.util.Random;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
 
 @Service
 public class LinkService {
 
-    private static final String CHARACTERS = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz";
-    private static final int ID_LENGTH = 10;
-    private final Random random = new Random();
+    private static final int MAX_ID_ATTEMPTS = 3;
 
     private final LinkRepository linkRepository;
+    private final IdGenerator idGenerator;
+    private final VisitCounter visitCounter;
+    private final RedirectCache redirectCache;
+    private final VisitRollups visitRollups;
+    private final ClickStatsService clickStats;
+    private final PasswordHasher passwordHasher;
+    private final LinkMetrics linkMetrics;
+    private final LinkFilters linkFilters;
+    private final TransactionTemplate primaryTx;
+    private final ApplicationEventPublisher events;
 
     @Value("${app.base-url:http://localhost:8080}")
     private String baseUrl;
 
+    @Value("${app.search.max-page-size:100}")
+    private int maxSearchPageSize;
+
+    @Value("${app.listing.max-limit:100}")
+    private int maxListLimit;
+
+    @Value("${app.replicas.enabled:false}")
+    private boolean replicasEnabled;
+
+    @Value("${app.visits.write-behind:true}")
+    private boolean writeBehind;
+
     @Autowired
-    public LinkService(LinkRepository linkRepository) {
+    public LinkService(LinkRepository linkRepository, IdGenerator idGenerator,
+                       VisitCounter visitCounter, RedirectCache redirectCache, VisitRollups visitRollups,
+                       ClickStatsService clickStats, PasswordHasher passwordHasher, LinkMetrics linkMetrics,
+                       LinkFilters linkFilters,
+                       PlatformTransactionManager transactionManager, ApplicationEventPublisher events) {
         this.linkRepository = linkRepository;
-    }
-
-    private String generateId() {
-        StringBuilder sb = new StringBuilder(ID_LENGTH);
-        for (int i = 0; i < ID_LENGTH; i++) {
-            sb.append(CHARACTERS.charAt(random.nextInt(CHARACTERS.length())));
-        }
-        return sb.toString();
+        this.idGenerator = idGenerator;
+        this.visitCounter = visitCounter;
+        this.redirectCache = redirectCache;
+        this.visitRollups = visitRollups;
+        this.clickStats = clickStats;
+        this.passwordHasher = passwordHasher;
+        this.linkMetrics = linkMetrics;
+        this.linkFilters = linkFilters;
+        this.primaryTx = new TransactionTemplate(transactionManager);
+        this.events = events;
     }
 
     public ResponseDTO createLink(CreateLinkDTO request) {
-        if (linkRepository.findByName(request.getName()).isPresent()) {
-            throw new DuplicateNameException("Link name already exists");
-        }
-
-        String id;
-        do {
-            id = generateId();
-        } while (linkRepository.existsById(id));
+        return linkMetrics.record("create", "created", () -> {
+            if (linkFilters.mightContainName(request.getName())
+                    && onPrimary(() -> linkRepository.findByName(request.getName())).isPresent()) {
+                throw new DuplicateNameException("Link name already exists");
+            }
 
-        Link link = new Link(id, request.getName(), request.getTargetUrl(), request.getPassword());
-        Link savedLink = linkRepository.save(link);
+            String password = encode(request.getPassword());
+            Link savedLink = null;
+            for (int attempt = 1; savedLink == null; attempt++) {
+                Link link = new Link(idGenerator.nextId(), request.getName(), request.getTargetUrl(), password);
+                link.setExpiresAt(request.getExpiresAt());
+                link.setMaxVisits(request.getMaxVisits());
+                link.setRedirectType(request.getRedirectType());
+                link.setMaxAge(request.getMaxAge());
+                try {
+                    savedLink = linkRepository.save(link);
+                } catch (DataIntegrityViolationException e) {
+                    // A name created concurrently (or on another node) since the check above, or an
+                    // id taken by a link this generator did not hand out; anything else propagates.
+                    if (onPrimary(() -> linkRepository.findByName(request.getName())).isPresent()) {
+                        throw new DuplicateNameException("Link name already exists");
+                    }
+                    if (attempt == MAX_ID_ATTEMPTS || !onPrimary(() -> linkRepository.existsById(link.getId()))) {
+                        throw e;
+                    }
+                }
+            }
+            String id = savedLink.getId();
+            changed(id);
 
-        return new ResponseDTO(savedLink, baseUrl);
+            return new ResponseDTO(savedLink, baseUrl);
+        });
     }
 
     public ResponseDTO getLinkById(String id) {
-        Link link = linkRepository.findById(id)
-                .orElseThrow(() -> new LinkNotFoundException("Link not found"));
+        return linkMetrics.record("get_by_id", "found", () -> {
+            if (!linkFilters.mightContainId(id)) {
+                throw new LinkNotFoundException("Link not found");
+            }
+            Link link = read(() -> linkRepository.findById(id))
+                    .orElseThrow(() -> new LinkNotFoundException("Link not found"));
 
-        return new ResponseDTO(link, baseUrl);
+            return toResponse(link);
+        });
     }
 
     public ResponseDTO getLinkByName(String name, String password) {
-        Link link = linkRepository.findByName(name)
-                .orElseThrow(() -> new LinkNotFoundException("Link not found"));
+        return linkMetrics.record("get_by_name", "found", () -> {
+            Link link = read(() -> linkRepository.findByName(name))
+                    .orElseThrow(() -> new LinkNotFoundException("Link not found"));
+
+            if (link.hasPassword()) {
+                if (password == null || password.isEmpty()) {
+                    throw new WrongPasswordException("Password required for protected link");
+                }
+
+                if (!passwordMatches(link, password)) {
+                    throw new WrongPasswordException("Wrong password");
+                }
+            }
 
-        if (link.hasPassword()) {
-            if (password == null || password.isEmpty()) {
-                throw new WrongPasswordException("Password required for protected link");
+            return toResponse(link);
+        });
+    }
+
+    public LinkSearchPageDTO searchByPrefix(String prefix, int page, int size) {
+        return linkMetrics.record("search", "found", () -> {
+            int pageSize = Math.max(1, Math.min(size, maxSearchPageSize));
+            Slice<Link> slice = linkRepository.findByNameKeyStartingWith(Link.nameKey(prefix),
+                    PageRequest.of(Math.max(page, 0), pageSize, Sort.by("nameKey", "id")));
+
+            List<LinkSummaryDTO> items = new ArrayList<>(slice.getNumberOfElements());
+            for (Link link : slice) {
+                items.add(new LinkSummaryDTO(link, baseUrl));
             }
+            return new LinkSearchPageDTO(prefix, slice.getNumber(), pageSize, slice.hasNext(), items);
+        });
+    }
 
-            if (!password.equals(link.getPassword())) {
-                throw new WrongPasswordException("Wrong password");
+    public LinkPageDTO listLinks(String after, int limit, LinkCursor.LinkSort sort) {
+        return linkMetrics.record("list", "found", () -> {
+            int pageSize = Math.max(1, Math.min(limit, maxListLimit));
+            Pageable page = PageRequest.of(0, pageSize + 1);
+
+            LinkCursor cursor = after == null ? null : LinkCursor.decode(after, sort);
+            List<Link> links;
+            if (sort == LinkCursor.LinkSort.VISITS) {
+                links = cursor == null
+                        ? linkRepository.findFirstPageByVisits(page)
+                        : linkRepository.findPageAfterVisits(cursor.visits(), cursor.id(), page);
+            } else {
+                links = cursor == null
+                        ? linkRepository.findFirstPageById(page)
+                        : linkRepository.findPageAfterId(cursor.id(), page);
             }
-        }
 
-        return new ResponseDTO(link, baseUrl);
+            boolean hasNext = links.size() > pageSize;
+            List<ResponseDTO> items = new ArrayList<>(Math.min(links.size(), pageSize));
+            for (int i = 0; i < links.size() && i < pageSize; i++) {
+                items.add(toListItem(links.get(i)));
+            }
+            String nextCursor = hasNext ? LinkCursor.after(sort, links.get(pageSize - 1)).encode() : null;
+            return new LinkPageDTO(items, nextCursor);
+        });
     }
 
-    @Transactional
     public String redirectAndIncrement(String id) {
-        Link link = linkRepository.findById(id)
-                .orElseThrow(() -> new LinkNotFoundException("Link not found"));
+        return resolveRedirect(id).targetUrl();
+    }
 
-        link.incrementVisits();
-        linkRepository.save(link);
+    /**
+     * Counts the visit and returns the link's redirect settings, for callers that also set the
+     * status code and caching headers.
+     */
+    public RedirectTarget resolveRedirect(String id) {
+        return linkMetrics.record("redirect", "found", () -> {
+            if (!linkFilters.mightContainId(id)) {
+                throw new LinkNotFoundException("Link not found");
+            }
+            RedirectTarget target = redirectCache.get(id, this::loadTarget);
+            if (target.isMissing()) {
+                throw new LinkNotFoundException("Link not found");
+            }
+            long now = System.currentTimeMillis();
+            if (target.isExpired(now)) {
+                throw new LinkExpiredException("Link expired");
+            }
 
-        return link.getTargetUrl();
+            // Capped links are counted synchronously so the cap is exact across threads and
+            // nodes; the first redirect past the cap marks the link expired for the sweeper.
+            if (target.isCapped()) {
+                if (linkRepository.incrementVisitsBelowCap(id) == 0) {
+                    linkRepository.expire(id, Instant.ofEpochMilli(now));
+                    changed(id);
+                    throw new LinkExpiredException("Link reached its visit limit");
+                }
+            } else if (writeBehind) {
+                visitCounter.increment(id);
+            } else if (linkRepository.incrementVisits(id) == 0) {
+                redirectCache.invalidate(id);
+                throw new LinkNotFoundException("Link not found");
+            }
+            visitRollups.record(id, now);
+
+            return target;
+        });
     }
 
     public void updateLink(String id, UpdateLinkDTO request) {
-        Link link = linkRepository.findById(id)
-                .orElseThrow(() -> new LinkNotFoundException("Link not found"));
+        linkMetrics.record("update", "updated", () -> {
+            Link link = onPrimary(() -> linkRepository.findById(id))
+                    .orElseThrow(() -> new LinkNotFoundException("Link not found"));
+
+            if (link.hasPassword()) {
+                if (request.getPassword() == null || request.getPassword().isEmpty()) {
+                    throw new WrongPasswordException("Password required for protected link");
+                }
+
+                if (!passwordMatches(link, request.getPassword())) {
+                    throw new WrongPasswordException("Wrong password");
+                }
+            }
 
-        if (link.hasPassword()) {
-            if (request.getPassword() == null || request.getPassword().isEmpty()) {
-                throw new WrongPasswordException("Password required for protected link");
+            if (request.getName() != null && !request.getName().isEmpty()) {
+                link.setName(request.getName());
             }
 
-            if (!request.getPassword().equals(link.getPassword())) {
-                throw new WrongPasswordException("Wrong password");
+            if (request.getTargetUrl() != null && !request.getTargetUrl().isEmpty()) {
+                link.setTargetUrl(request.getTargetUrl());
             }
-        }
 
-        if (request.getName() != null && !request.getName().isEmpty()) {
-            link.setName(request.getName());
-        }
+            if (request.getRedirectType() != null) {
+                link.setRedirectType(request.getRedirectType());
+            }
 
-        if (request.getTargetUrl() != null && !request.getTargetUrl().isEmpty()) {
-            link.setTargetUrl(request.getTargetUrl());
-        }
+            if (request.getMaxAge() != null) {
+                link.setMaxAge(request.getMaxAge());
+            }
 
-        linkRepository.save(link);
+            linkRepository.save(link);
+            changed(id);
+        });
     }
 
     public void deleteLink(String id, String password) {
-        Link link = linkRepository.findById(id).orElse(null);
+        linkMetrics.record("delete", "deleted", () -> {
+            Link link = onPrimary(() -> linkRepository.findById(id)).orElse(null);
 
-        if (link == null) {
-            return;
-        }
+            if (link == null) {
+                return;
+            }
 
-        if (link.hasPassword()) {
-            if (password == null || password.isEmpty()) {
-                throw new WrongPasswordException("Password required for protected link");
+            if (link.hasPassword()) {
+                if (password == null || password.isEmpty()) {
+                    throw new WrongPasswordException("Password required for protected link");
+                }
+
+                if (!passwordMatches(link, password)) {
+                    throw new WrongPasswordException("Wrong password");
+                }
             }
 
-            if (!password.equals(link.getPassword())) {
-                throw new WrongPasswordException("Wrong password");
+            linkRepository.delete(link);
+            changed(id);
+            visitCounter.discard(id);
+            visitRollups.delete(id);
+            clickStats.delete(id);
+        });
+    }
+
+    private void changed(String id) {
+        redirectCache.invalidate(id);
+        events.publishEvent(new LinkChangedEvent(id));
+    }
+
+    private Optional<RedirectTarget> loadTarget(String id) {
+        return read(() -> linkRepository.findRedirectTargetById(id));
+    }
+
+    // Read-only repository queries go to a replica when replicas are enabled. A replica may not
+    // have caught up with a link created moments ago, so a miss is retried on the primary.
+    private <T> Optional<T> read(Supplier<Optional<T>> query) {
+        Optional<T> result = query.get();
+        if (result.isEmpty() && replicasEnabled) {
+            result = onPrimary(query);
+        }
+        return result;
+    }
+
+    // Reads that precede a write must see the primary; an enclosing read-write transaction
+    // makes the repository's read-only queries use its (primary) connection.
+    private <T> T onPrimary(Supplier<T> query) {
+        return replicasEnabled ? primaryTx.execute(status -> query.get()) : query.get();
+    }
+
+    private String encode(String password) {
+        return password == null || password.isEmpty() ? password : passwordHasher.hash(password);
+    }
+
+    private boolean passwordMatches(Link link, String password) {
+        if (!passwordHasher.matches(link.getId(), password, link.getPassword())) {
+            return false;
+        }
+        if (passwordHasher.needsRehash(link.getPassword())) {
+            // Only replaces the hash that was checked; a password changed meanwhile wins.
+            String rehashed = passwordHasher.hash(password);
+            if (linkRepository.replacePassword(link.getId(), link.getPassword(), rehashed) == 1) {
+                link.setPassword(rehashed);
             }
         }
+        return true;
+    }
+
+    // Same redaction as LinkSummaryDTO: a listing must not reveal where a protected link points.
+    private ResponseDTO toListItem(Link link) {
+        ResponseDTO response = toResponse(link);
+        if (link.hasPassword()) {
+            response.setTargetUrl(null);
+        }
+        return response;
+    }
 
-        linkRepository.delete(link);
+    private ResponseDTO toResponse(Link link) {
+        ResponseDTO response = new ResponseDTO(link, baseUrl);
+        response.setVisits(link.getVisits() + visitCounter.pending(link.getId()));
+        return response;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,198 @@
+package org.example.s29624tpo11.services;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.example.s29624tpo11.DTOs.ImportResultDTO;
+import org.example.s29624tpo11.DTOs.LinkExportDTO;
+import org.example.s29624tpo11.exceptions.PlaintextPasswordsException;
+import org.example.s29624tpo11.models.Link;
+import org.example.s29624tpo11.repositories.LinkRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+@Service
+public class LinkTransferService {
+
+    private static final Logger log = LoggerFactory.getLogger(LinkTransferService.class);
+
+    private final LinkRepository linkRepository;
+    private final RedirectCache redirectCache;
+    private final IdGenerator idGenerator;
+    private final PasswordHasher passwordHasher;
+    private final PasswordMigration passwordMigration;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${app.batch.chunk-size:500}")
+    private int chunkSize;
+
+    @Autowired
+    public LinkTransferService(LinkRepository linkRepository, RedirectCache redirectCache, IdGenerator idGenerator,
+                               PasswordHasher passwordHasher, PasswordMigration passwordMigration,
+                               ObjectMapper objectMapper, PlatformTransactionManager transactionManager) {
+        this.linkRepository = linkRepository;
+        this.redirectCache = redirectCache;
+        this.idGenerator = idGenerator;
+        this.passwordHasher = passwordHasher;
+        this.passwordMigration = passwordMigration;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Refuses to export while plaintext passwords remain, so {@link #exportTo} never has to hash
+     * inside its read transaction. Rehashing is left to {@link PasswordMigration} (on startup or
+     * through its actuator endpoint); an export request never pays for it.
+     */
+    public void prepareExport() {
+        long plaintext = passwordMigration.countPlaintext();
+        if (plaintext > 0) {
+            throw new PlaintextPasswordsException(plaintext + " links still have plaintext passwords");
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public long exportTo(OutputStream out) throws IOException {
+        long exported = 0;
+        try (Stream<Link> links = linkRepository.streamAll();
+             SequenceWriter writer = objectMapper.writerFor(LinkExportDTO.class)
+                     .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                     .withRootValueSeparator("\n")
+                     .writeValues(StreamUtils.nonClosing(out))) {
+            for (Link link : (Iterable<Link>) links::iterator) {
+                writer.write(new LinkExportDTO(link, exportForm(link)));
+                entityManager.detach(link);
+                exported++;
+            }
+        }
+        if (exported > 0) {
+            out.write('\n');
+        }
+        return exported;
+    }
+
+    private String exportForm(Link link) {
+        String stored = link.getPassword();
+        if (stored == null || stored.isEmpty()) {
+            return null;
+        }
+        if (!passwordHasher.isEncoded(stored)) {
+            throw new PlaintextPasswordsException("Link " + link.getId() + " has a plaintext password");
+        }
+        return stored;
+    }
+
+    public ImportResultDTO importFrom(InputStream in) throws IOException {
+        ImportResultDTO result = new ImportResultDTO();
+        List<LinkExportDTO> chunk = new ArrayList<>(chunkSize);
+
+        try (MappingIterator<LinkExportDTO> items = objectMapper.readerFor(LinkExportDTO.class).readValues(in)) {
+            while (items.hasNextValue()) {
+                chunk.add(items.nextValue());
+                result.setRead(result.getRead() + 1);
+                if (chunk.size() == chunkSize) {
+                    importChunk(chunk, result);
+                    chunk.clear();
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, result);
+        }
+
+        log.info("Link import finished: {} read, {} imported, {} skipped, {} invalid",
+                result.getRead(), result.getImported(), result.getSkipped(), result.getInvalid());
+        return result;
+    }
+
+    private void importChunk(List<LinkExportDTO> chunk, ImportResultDTO result) {
+        List<LinkExportDTO> valid = new ArrayList<>(chunk.size());
+        for (LinkExportDTO item : chunk) {
+            if (isValid(item)) {
+                valid.add(item);
+            } else {
+                result.setInvalid(result.getInvalid() + 1);
+            }
+        }
+
+        Set<String> existingIds = new HashSet<>(linkRepository.findExistingIds(valid.stream().map(LinkExportDTO::getId).toList()));
+        Set<String> existingNames = new HashSet<>(linkRepository.findExistingNames(valid.stream().map(LinkExportDTO::getName).toList()));
+
+        List<Link> links = new ArrayList<>(valid.size());
+        for (LinkExportDTO item : valid) {
+            if (!existingIds.add(item.getId()) || !existingNames.add(item.getName())) {
+                result.setSkipped(result.getSkipped() + 1);
+                continue;
+            }
+            Link link = new Link(item.getId(), item.getName(), item.getTargetUrl(), item.getPasswordHash());
+            link.setVisits(item.getVisits() == null ? 0L : item.getVisits());
+            link.setExpiresAt(item.getExpiresAt());
+            link.setMaxVisits(item.getMaxVisits());
+            link.setRedirectType(item.getRedirectType());
+            link.setMaxAge(item.getMaxAge());
+            links.add(link);
+        }
+
+        try {
+            insert(links);
+            result.setImported(result.getImported() + links.size());
+        } catch (DataIntegrityViolationException e) {
+            for (Link link : links) {
+                try {
+                    insert(List.of(link));
+                    result.setImported(result.getImported() + 1);
+                } catch (DataIntegrityViolationException duplicate) {
+                    result.setSkipped(result.getSkipped() + 1);
+                }
+            }
+        }
+
+        log.info("Link import progress: {} read, {} imported, {} skipped, {} invalid",
+                result.getRead(), result.getImported(), result.getSkipped(), result.getInvalid());
+    }
+
+    private void insert(List<Link> links) {
+        transactionTemplate.executeWithoutResult(status -> {
+            linkRepository.saveAll(links);
+            linkRepository.flush();
+            entityManager.clear();
+        });
+        List<String> ids = links.stream().map(Link::getId).toList();
+        idGenerator.reserve(ids);
+        ids.forEach(redirectCache::invalidate);
+    }
+
+    private boolean isValid(LinkExportDTO item) {
+        return item.getId() != null && !item.getId().isBlank() && item.getId().length() <= 10
+                && item.getName() != null && !item.getName().isBlank() && item.getName().length() <= 200
+                && item.getTargetUrl() != null && item.getTargetUrl().matches("^https?://.*")
+                && (item.getVisits() == null || item.getVisits() >= 0)
+                && (item.getMaxVisits() == null || item.getMaxVisits() > 0)
+                && (item.getMaxAge() == null || item.getMaxAge() >= 0)
+                && (item.getPasswordHash() == null || passwordHasher.isEncoded(item.getPasswordHash()));
+    }
+}
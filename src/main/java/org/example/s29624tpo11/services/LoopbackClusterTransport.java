@@ -0,0 +1,50 @@
+package org.example.s29624tpo11.services;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * In-JVM transport: every instance created with the same cluster name receives the messages sent
+ * by the others, synchronously on the sending thread. Meant for tests that run several
+ * application contexts in one JVM.
+ */
+public class LoopbackClusterTransport implements ClusterTransport {
+
+    private static final Map<String, List<LoopbackClusterTransport>> clusters = new ConcurrentHashMap<>();
+
+    private final List<LoopbackClusterTransport> members;
+    private final List<Consumer<String>> listeners = new CopyOnWriteArrayList<>();
+
+    public LoopbackClusterTransport(String cluster) {
+        this.members = clusters.computeIfAbsent(cluster, name -> new CopyOnWriteArrayList<>());
+        members.add(this);
+    }
+
+    @Override
+    public void send(String message) {
+        for (LoopbackClusterTransport member : members) {
+            if (member != this) {
+                member.deliver(message);
+            }
+        }
+    }
+
+    @Override
+    public void onMessage(Consumer<String> listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void close() {
+        members.remove(this);
+    }
+
+    private void deliver(String message) {
+        for (Consumer<String> listener : listeners) {
+            listener.accept(message);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package org.example.s29624tpo11.services;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Coordination-free ids for clustered deployments: each value packs the seconds since 2024
+ * (32 bits), {@code app.cluster.node-id} (10 bits) and a per-second counter (15 bits), so nodes
+ * with distinct node ids can never produce the same id and no database round trip is needed.
+ * <p>
+ * The 57-bit value fits the 52^10 keyspace and is scrambled like sequence ids. When a node issues
+ * more than 32768 ids in a second it borrows the next second instead of waiting, and a clock that
+ * steps backwards is ignored; both only stay safe if the node is not restarted faster than the
+ * seconds it ran ahead.
+ * <p>
+ * There is no default node id: two nodes silently sharing one would hand out the same ids, so
+ * startup fails unless {@code app.cluster.node-id} is set.
+ */
+@Component
+@ConditionalOnProperty(name = "app.ids.strategy", havingValue = "node")
+public class NodeIdGenerator implements IdGenerator {
+
+    static final long EPOCH_SECONDS = 1_704_067_200L; // 2024-01-01T00:00:00Z
+    static final int NODE_BITS = 10;
+    static final int COUNTER_BITS = 15;
+    static final int MAX_NODE_ID = (1 << NODE_BITS) - 1;
+
+    private static final long COUNTER_LIMIT = 1L << COUNTER_BITS;
+    private static final long SECOND_LIMIT = 1L << 32;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final long nodeBits;
+    private long second;
+    private long counter;
+
+    @Autowired
+    public NodeIdGenerator(@Value("${app.cluster.node-id:#{null}}") Integer nodeId) {
+        if (nodeId == null) {
+            throw new IllegalStateException("app.cluster.node-id must be set when app.ids.strategy=node");
+        }
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("app.cluster.node-id must be between 0 and " + MAX_NODE_ID);
+        }
+        this.nodeBits = nodeId.longValue() << COUNTER_BITS;
+    }
+
+    @Override
+    public String nextId() {
+        long value;
+        lock.lock();
+        try {
+            long now = System.currentTimeMillis() / 1000 - EPOCH_SECONDS;
+            if (now > second) {
+                second = now;
+                counter = 0;
+            } else if (counter == COUNTER_LIMIT) {
+                second++;
+                counter = 0;
+            }
+            if (second >= SECOND_LIMIT) {
+                throw new IllegalStateException("Link id keyspace exhausted");
+            }
+            value = second << (NODE_BITS + COUNTER_BITS) | nodeBits | counter++;
+        } finally {
+            lock.unlock();
+        }
+        return ShortIds.encode(ShortIds.scramble(value));
+    }
+}
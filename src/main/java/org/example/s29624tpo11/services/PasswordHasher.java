@@ -0,0 +1,142 @@
+package org.example.s29624tpo11.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+
+/**
+ * Link password storage. New passwords are stored as {@code {pbkdf2}iterations$salt$hash}
+ * (PBKDF2-HMAC-SHA256, cost set by {@code app.passwords.iterations}); legacy plaintext values are
+ * still accepted and upgraded on the next successful check.
+ * <p>
+ * Successful verifications are remembered for {@code app.passwords.cache.ttl}, keyed by an HMAC
+ * of (link id, stored hash, password) under a per-process random key, so repeat checks skip the
+ * KDF without keeping anything that could be brute-forced offline. A changed password changes the
+ * stored hash and therefore never hits an old entry.
+ */
+@Component
+public class PasswordHasher {
+
+    private static final String PBKDF2_PREFIX = "{pbkdf2}";
+    private static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+    private static final int SALT_BYTES = 16;
+    private static final int HASH_BITS = 256;
+
+    private final SecureRandom random = new SecureRandom();
+    private final SecretKeySpec cacheKey;
+    private final Cache<String, Boolean> verified;
+    private final int iterations;
+
+    @Autowired
+    public PasswordHasher(@Value("${app.passwords.iterations:120000}") int iterations,
+                          @Value("${app.passwords.cache.max-size:10000}") long cacheSize,
+                          @Value("${app.passwords.cache.ttl:5m}") Duration cacheTtl,
+                          MeterRegistry registry) {
+        this.iterations = iterations;
+        byte[] key = new byte[32];
+        random.nextBytes(key);
+        this.cacheKey = new SecretKeySpec(key, "HmacSHA256");
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(cacheTtl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(registry, verified, "verified-passwords");
+    }
+
+    public String hash(String raw) {
+        byte[] salt = new byte[SALT_BYTES];
+        random.nextBytes(salt);
+        Base64.Encoder base64 = Base64.getEncoder().withoutPadding();
+        return PBKDF2_PREFIX + iterations + "$" + base64.encodeToString(salt)
+                + "$" + base64.encodeToString(pbkdf2(raw, salt, iterations));
+    }
+
+    public boolean isEncoded(String stored) {
+        return stored != null && stored.startsWith(PBKDF2_PREFIX);
+    }
+
+    public boolean needsRehash(String stored) {
+        if (stored == null || !stored.startsWith(PBKDF2_PREFIX)) {
+            return true;
+        }
+        int end = stored.indexOf('$');
+        try {
+            return end < 0 || Integer.parseInt(stored.substring(PBKDF2_PREFIX.length(), end)) < iterations;
+        } catch (NumberFormatException e) {
+            return true;
+        }
+    }
+
+    public boolean matches(String linkId, String raw, String stored) {
+        if (raw == null || stored == null) {
+            return false;
+        }
+        String key = cacheKey(linkId, raw, stored);
+        if (verified.getIfPresent(key) != null) {
+            return true;
+        }
+        boolean matches = verify(raw, stored);
+        if (matches) {
+            verified.put(key, Boolean.TRUE);
+        }
+        return matches;
+    }
+
+    private boolean verify(String raw, String stored) {
+        if (stored.startsWith(PBKDF2_PREFIX)) {
+            String[] parts = stored.substring(PBKDF2_PREFIX.length()).split("\\$");
+            if (parts.length != 3) {
+                return false;
+            }
+            try {
+                byte[] expected = Base64.getDecoder().decode(parts[2]);
+                byte[] actual = pbkdf2(raw, Base64.getDecoder().decode(parts[1]), Integer.parseInt(parts[0]));
+                return MessageDigest.isEqual(expected, actual);
+            } catch (IllegalArgumentException e) {
+                return false;
+            }
+        }
+        return MessageDigest.isEqual(raw.getBytes(StandardCharsets.UTF_8), stored.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String cacheKey(String linkId, String raw, String stored) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(cacheKey);
+            mac.update(linkId.getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) 0);
+            mac.update(stored.getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) 0);
+            return Base64.getEncoder().encodeToString(mac.doFinal(raw.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] pbkdf2(String raw, byte[] salt, int iterations) {
+        PBEKeySpec spec = new PBEKeySpec(raw.toCharArray(), salt, iterations, HASH_BITS);
+        try {
+            return SecretKeyFactory.getInstance(ALGORITHM).generateSecret(spec).getEncoded();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        } finally {
+            spec.clearPassword();
+        }
+    }
+}
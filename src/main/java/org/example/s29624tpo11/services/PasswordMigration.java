@@ -0,0 +1,109 @@
+package org.example.s29624tpo11.services;
+
+import org.example.s29624tpo11.DTOs.PasswordMigrationResultDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Rehashes legacy plaintext link passwords with {@link PasswordHasher}. Rows are read in keyset
+ * batches of {@code app.passwords.migration.batch-size} ordered by id, so memory stays flat and
+ * each batch commits on its own; the update only applies if the row still holds the value that
+ * was read, so concurrent edits win.
+ */
+@Component
+public class PasswordMigration {
+
+    private static final Logger log = LoggerFactory.getLogger(PasswordMigration.class);
+    private static final String SELECT_SQL =
+            "SELECT id, password FROM links WHERE id > ? AND password IS NOT NULL AND password <> ''"
+                    + " ORDER BY id LIMIT ?";
+    private static final String UPDATE_SQL = "UPDATE links SET password = ? WHERE id = ? AND password = ?";
+    private static final String COUNT_PLAINTEXT_SQL =
+            "SELECT COUNT(*) FROM links WHERE password IS NOT NULL AND password <> ''"
+                    + " AND password NOT LIKE ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PasswordHasher passwordHasher;
+    private final ReentrantLock running = new ReentrantLock();
+
+    @Value("${app.passwords.migration.batch-size:200}")
+    private int batchSize;
+
+    @Value("${app.passwords.migration.on-startup:true}")
+    private boolean onStartup;
+
+    @Autowired
+    public PasswordMigration(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                             PasswordHasher passwordHasher) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.passwordHasher = passwordHasher;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateOnStartup() {
+        if (onStartup) {
+            Thread.ofVirtual().name("password-migration").start(this::migrate);
+        }
+    }
+
+    public PasswordMigrationResultDTO migrate() {
+        PasswordMigrationResultDTO result = new PasswordMigrationResultDTO();
+        if (!running.tryLock()) {
+            result.setAlreadyRunning(true);
+            return result;
+        }
+        try {
+            String after = "";
+            while (true) {
+                List<String[]> rows = jdbcTemplate.query(SELECT_SQL,
+                        (rs, row) -> new String[]{rs.getString("id"), rs.getString("password")},
+                        after, batchSize);
+                if (rows.isEmpty()) {
+                    break;
+                }
+                after = rows.get(rows.size() - 1)[0];
+                result.setScanned(result.getScanned() + rows.size());
+
+                List<Object[]> updates = new ArrayList<>();
+                for (String[] row : rows) {
+                    if (!passwordHasher.isEncoded(row[1])) {
+                        updates.add(new Object[]{passwordHasher.hash(row[1]), row[0], row[1]});
+                    }
+                }
+                if (!updates.isEmpty()) {
+                    int[] counts = transactionTemplate.execute(status -> jdbcTemplate.batchUpdate(UPDATE_SQL, updates));
+                    for (int count : counts) {
+                        result.setRehashed(result.getRehashed() + Math.max(count, 0));
+                    }
+                }
+            }
+            log.info("Password migration finished: {} protected links scanned, {} rehashed",
+                    result.getScanned(), result.getRehashed());
+        } catch (RuntimeException e) {
+            log.error("Password migration stopped after {} links", result.getScanned(), e);
+            throw e;
+        } finally {
+            running.unlock();
+        }
+        return result;
+    }
+
+    public long countPlaintext() {
+        Long count = jdbcTemplate.queryForObject(COUNT_PLAINTEXT_SQL, Long.class, "{pbkdf2}%");
+        return count == null ? 0 : count;
+    }
+}
@@ -0,0 +1,36 @@
+package org.example.s29624tpo11.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.s29624tpo11.repositories.LinkRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "app.ids.strategy", havingValue = "random")
+public class RandomIdGenerator implements IdGenerator {
+
+    private final LinkRepository linkRepository;
+    private final LinkFilters linkFilters;
+    private final Counter retries;
+
+    @Autowired
+    public RandomIdGenerator(LinkRepository linkRepository, LinkFilters linkFilters, MeterRegistry registry) {
+        this.linkRepository = linkRepository;
+        this.linkFilters = linkFilters;
+        this.retries = Counter.builder("links.id.retries")
+                .description("Generated ids that were already taken")
+                .register(registry);
+    }
+
+    @Override
+    public String nextId() {
+        String id = ShortIds.random();
+        while (linkFilters.mightContainId(id) && linkRepository.existsById(id)) {
+            retries.increment();
+            id = ShortIds.random();
+        }
+        return id;
+    }
+}
@@ -0,0 +1,85 @@
+package org.example.s29624tpo11.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+@Component
+public class RedirectCache {
+
+    private final Cache<String, RedirectTarget> cache;
+    // One token per id with a load in flight; invalidating the id removes it.
+    private final ConcurrentMap<String, Object> loads = new ConcurrentHashMap<>();
+
+    public RedirectCache(@Value("${app.redirect-cache.max-size:100000}") long maxSize,
+                         @Value("${app.redirect-cache.ttl:10m}") Duration ttl,
+                         @Value("${app.redirect-cache.negative-ttl:30s}") Duration negativeTtl,
+                         MeterRegistry registry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, RedirectTarget>() {
+                    @Override
+                    public long expireAfterCreate(String key, RedirectTarget value, long currentTime) {
+                        return value.isMissing() ? negativeTtl.toNanos() : ttl.toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, RedirectTarget value, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, RedirectTarget value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(registry, cache, "redirect");
+    }
+
+    public RedirectTarget get(String id, Function<String, Optional<RedirectTarget>> loader) {
+        RedirectTarget target = cache.getIfPresent(id);
+        if (target == null) {
+            // Loaded outside Caffeine's compute so the database call never runs under a map lock
+            // (that would pin a virtual thread to its carrier). Concurrent misses may load twice;
+            // an entry that raced with an invalidation of the same id (or with another load of it)
+            // is dropped again right away.
+            Object token = new Object();
+            loads.put(id, token);
+            try {
+                target = loader.apply(id).orElse(RedirectTarget.MISSING);
+                cache.put(id, target);
+            } finally {
+                if (!loads.remove(id, token)) {
+                    cache.invalidate(id);
+                }
+            }
+        }
+        return target;
+    }
+
+    public void invalidate(String id) {
+        loads.remove(id);
+        cache.invalidate(id);
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+}
@@ -0,0 +1,50 @@
+package org.example.s29624tpo11.services;
+
+import org.example.s29624tpo11.models.RedirectType;
+
+import java.time.Instant;
+
+/**
+ * What a redirect needs to know about a link. {@code expiresAt} is epoch millis
+ * ({@link Long#MAX_VALUE} for links that never expire), {@code maxVisits} is 0 for uncapped links
+ * and {@code maxAge} is -1 when the link uses the default, so the hot-path checks are plain
+ * comparisons.
+ */
+public record RedirectTarget(String targetUrl, long expiresAt, long maxVisits, boolean permanent, long maxAge) {
+
+    public static final RedirectTarget MISSING = new RedirectTarget(null, Long.MAX_VALUE, 0, false, -1);
+
+    public RedirectTarget(String targetUrl, Instant expiresAt, Long maxVisits, RedirectType redirectType, Long maxAge) {
+        this(targetUrl, expiresAt == null ? Long.MAX_VALUE : expiresAt.toEpochMilli(),
+                maxVisits == null ? 0 : maxVisits, redirectType == RedirectType.PERMANENT,
+                maxAge == null ? -1 : maxAge);
+    }
+
+    public boolean isMissing() {
+        return targetUrl == null;
+    }
+
+    public boolean isExpired(long now) {
+        return expiresAt <= now;
+    }
+
+    public boolean isCapped() {
+        return maxVisits > 0;
+    }
+
+    /**
+     * Seconds a browser or CDN may reuse the redirect, or 0 if every click has to reach the
+     * service: temporary and visit-capped links are never cached, and a permanent link that
+     * expires is cached at most until it expires.
+     */
+    public long cacheSeconds(long now, long defaultMaxAge) {
+        if (!permanent || isCapped()) {
+            return 0;
+        }
+        long seconds = maxAge >= 0 ? maxAge : defaultMaxAge;
+        if (expiresAt != Long.MAX_VALUE) {
+            seconds = Math.min(seconds, Math.max(0, (expiresAt - now) / 1000));
+        }
+        return seconds;
+    }
+}
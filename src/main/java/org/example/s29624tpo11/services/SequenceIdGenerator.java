@@ -0,0 +1,123 @@
+package org.example.s29624tpo11.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Collision-free ids: reserves blocks of {@code app.ids.block-size} values from the
+ * {@code link_id_blocks} database sequence and hands them out from memory, so creating a link
+ * never has to probe the table. Unused values of a block are lost on restart.
+ * <p>
+ * Sequence ids start with a digit ({@link ShortIds#encodeSequence}), which random and node ids
+ * never do. Ids inserted from outside (an import from another instance) that have this shape are
+ * decoded back to their sequence value and the sequence is moved past them; all other ids cannot
+ * collide with sequence ids and are ignored.
+ */
+@Component
+@ConditionalOnProperty(name = "app.ids.strategy", havingValue = "sequence", matchIfMissing = true)
+public class SequenceIdGenerator implements IdGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(SequenceIdGenerator.class);
+    private static final String SEQUENCE = "link_id_blocks";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Counter blocks;
+
+    @Value("${app.ids.block-size:1000}")
+    private long blockSize;
+
+    private String nextBlockSql;
+    private long next;
+    private long limit;
+
+    @Autowired
+    public SequenceIdGenerator(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory,
+                               MeterRegistry registry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+        this.blocks = Counter.builder("links.id.blocks")
+                .description("Id blocks reserved from the database sequence")
+                .register(registry);
+    }
+
+    @PostConstruct
+    void createSequence() {
+        jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS " + SEQUENCE);
+        nextBlockSql = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect().getSequenceSupport().getSequenceNextValString(SEQUENCE);
+    }
+
+    @Override
+    public String nextId() {
+        long value;
+        lock.lock();
+        try {
+            if (next == limit) {
+                allocateBlock();
+            }
+            value = next++;
+        } finally {
+            lock.unlock();
+        }
+        return ShortIds.encodeSequence(value);
+    }
+
+    @Override
+    public void reserve(Collection<String> ids) {
+        long highest = -1;
+        for (String id : ids) {
+            long value = ShortIds.decodeSequence(id);
+            if (value >= 0) {
+                highest = Math.max(highest, value / blockSize);
+            }
+        }
+        if (highest < 0) {
+            return;
+        }
+
+        lock.lock();
+        try {
+            if (next < limit && next / blockSize > highest) {
+                return;
+            }
+            next = limit;
+            Long block = jdbcTemplate.queryForObject(nextBlockSql, Long.class);
+            if (block != null && block <= highest) {
+                jdbcTemplate.execute("ALTER SEQUENCE " + SEQUENCE + " RESTART WITH " + (highest + 1));
+                log.info("Moved {} past imported block {}", SEQUENCE, highest);
+            } else {
+                useBlock(block);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void allocateBlock() {
+        useBlock(jdbcTemplate.queryForObject(nextBlockSql, Long.class));
+    }
+
+    private void useBlock(Long block) {
+        if (block == null || block >= ShortIds.SEQUENCE_KEYSPACE / blockSize) {
+            throw new IllegalStateException("Link id keyspace exhausted");
+        }
+        blocks.increment();
+        next = block * blockSize;
+        limit = next + blockSize;
+    }
+}
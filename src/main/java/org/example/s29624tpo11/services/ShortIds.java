@@ -0,0 +1,105 @@
+package org.example.s29624tpo11.services;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+public final class ShortIds {
+
+    public static final String ALPHABET = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz";
+    public static final String DIGITS = "0123456789";
+    public static final int LENGTH = 10;
+    public static final long KEYSPACE = 144_555_105_949_057_024L; // 52^10
+    public static final long SEQUENCE_KEYSPACE = 27_799_058_836_357_120L; // 10 * 52^9
+
+    private static final int BASE = ALPHABET.length();
+    private static final long LETTERS_9 = 2_779_905_883_635_712L; // 52^9
+    private static final long MULTIPLIER = 125_416_555_296_750_613L; // coprime to 52^10
+    private static final long OFFSET = 77_334_688_134_524_163L;
+    private static final long SEQUENCE_MULTIPLIER = 11_006_053_719_275_941L; // coprime to 10 * 52^9
+    private static final long SEQUENCE_OFFSET = 3_391_394_377_863_211L;
+    private static final long SEQUENCE_INVERSE = 7_315_603_229_328_941L; // SEQUENCE_MULTIPLIER^-1 mod 10 * 52^9
+
+    private ShortIds() {}
+
+    public static String encode(long value) {
+        char[] chars = new char[LENGTH];
+        for (int i = LENGTH - 1; i >= 0; i--) {
+            chars[i] = ALPHABET.charAt((int) (value % BASE));
+            value /= BASE;
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Bijective mapping of {@code [0, 52^10)} onto itself, so consecutive sequence values
+     * do not produce consecutive (guessable) ids.
+     */
+    public static long scramble(long value) {
+        long scrambled = mulMod(value, MULTIPLIER, KEYSPACE) + OFFSET;
+        return scrambled >= KEYSPACE ? scrambled - KEYSPACE : scrambled;
+    }
+
+    /**
+     * Id for a value of the {@code link_id_blocks} sequence: a digit followed by nine letters,
+     * scrambled over {@code [0, 10 * 52^9)}. Random and node ids are letters only, so an id of this
+     * shape can only have come from a sequence.
+     */
+    public static String encodeSequence(long value) {
+        long scrambled = mulMod(value, SEQUENCE_MULTIPLIER, SEQUENCE_KEYSPACE) + SEQUENCE_OFFSET;
+        if (scrambled >= SEQUENCE_KEYSPACE) {
+            scrambled -= SEQUENCE_KEYSPACE;
+        }
+        char[] chars = new char[LENGTH];
+        long letters = scrambled % LETTERS_9;
+        for (int i = LENGTH - 1; i > 0; i--) {
+            chars[i] = ALPHABET.charAt((int) (letters % BASE));
+            letters /= BASE;
+        }
+        chars[0] = DIGITS.charAt((int) (scrambled / LETTERS_9));
+        return new String(chars);
+    }
+
+    /** Inverse of {@link #encodeSequence}; -1 if {@code id} is not a sequence id. */
+    public static long decodeSequence(String id) {
+        if (id == null || id.length() != LENGTH) {
+            return -1;
+        }
+        int digit = DIGITS.indexOf(id.charAt(0));
+        if (digit < 0) {
+            return -1;
+        }
+        long scrambled = 0;
+        for (int i = 1; i < LENGTH; i++) {
+            int letter = ALPHABET.indexOf(id.charAt(i));
+            if (letter < 0) {
+                return -1;
+            }
+            scrambled = scrambled * BASE + letter;
+        }
+        scrambled += digit * LETTERS_9 - SEQUENCE_OFFSET;
+        return mulMod(scrambled < 0 ? scrambled + SEQUENCE_KEYSPACE : scrambled, SEQUENCE_INVERSE, SEQUENCE_KEYSPACE);
+    }
+
+    public static String random() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        char[] chars = new char[LENGTH];
+        for (int i = 0; i < LENGTH; i++) {
+            chars[i] = ALPHABET.charAt(random.nextInt(BASE));
+        }
+        return new String(chars);
+    }
+
+    private static long mulMod(long a, long b, long modulus) {
+        long result = 0;
+        a %= modulus;
+        while (b > 0) {
+            if ((b & 1) == 1) {
+                result += a;
+                if (result >= modulus) result -= modulus;
+            }
+            a <<= 1;
+            if (a >= modulus) a -= modulus;
+            b >>= 1;
+        }
+        return result;
+    }
+}
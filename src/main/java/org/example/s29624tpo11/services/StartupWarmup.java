@@ -0,0 +1,78 @@
+package org.example.s29624tpo11.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.s29624tpo11.DTOs.CreateLinkDTO;
+import org.example.s29624tpo11.DTOs.ResponseDTO;
+import org.example.s29624tpo11.exceptions.LinkNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Drives the {@link LinkService} hot paths for {@code app.warmup.iterations} rounds before the
+ * application reports ready. Runners finish before Spring Boot publishes
+ * {@code ReadinessState.ACCEPTING_TRAFFIC}, so a load balancer watching
+ * {@code /actuator/health/readiness} only sends traffic once the redirect path is compiled.
+ * <p>
+ * The warm-up creates a throw-away link of its own and deletes only that link (with its buffered
+ * visits) at the end. Its name is longer than the 20 characters the API accepts and carries a
+ * random suffix, so it can never be a user's link; a failed warm-up is logged and never blocks
+ * startup.
+ */
+@Component
+@ConditionalOnProperty(name = "app.warmup.enabled", havingValue = "true")
+public class StartupWarmup implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupWarmup.class);
+    private static final String LINK_NAME_PREFIX = "__warmup__:";
+
+    private final LinkService linkService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.warmup.iterations:2000}")
+    private int iterations;
+
+    @Autowired
+    public StartupWarmup(LinkService linkService, ObjectMapper objectMapper) {
+        this.linkService = linkService;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long start = System.nanoTime();
+        String id = null;
+        try {
+            id = linkService.createLink(new CreateLinkDTO(LINK_NAME_PREFIX + UUID.randomUUID(),
+                    "https://example.com/warmup", null)).getId();
+            for (int i = 0; i < iterations; i++) {
+                linkService.redirectAndIncrement(id);
+                ResponseDTO link = linkService.getLinkById(id);
+                objectMapper.writeValueAsBytes(link);
+                try {
+                    linkService.redirectAndIncrement(ShortIds.random());
+                } catch (LinkNotFoundException expected) {
+                    // the unknown-id path is part of the warm-up
+                }
+                if (i % 10 == 0) {
+                    linkService.searchByPrefix(LINK_NAME_PREFIX, 0, 20);
+                }
+            }
+            log.info("Warm-up finished: {} iterations in {} ms", iterations, (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException | JsonProcessingException e) {
+            log.warn("Warm-up failed, continuing startup", e);
+        } finally {
+            if (id != null) {
+                linkService.deleteLink(id, null);
+            }
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package org.example.s29624tpo11.services;
+
+import java.util.Locale;
+
+public enum TimeBucket {
+    MINUTE(60_000L), HOUR(3_600_000L), DAY(86_400_000L);
+
+    private final long millis;
+
+    TimeBucket(long millis) {
+        this.millis = millis;
+    }
+
+    public long millis() {
+        return millis;
+    }
+
+    public long floor(long epochMillis) {
+        return Math.floorDiv(epochMillis, millis) * millis;
+    }
+
+    public static TimeBucket parse(String value) {
+        return valueOf(value.trim().toUpperCase(Locale.ROOT));
+    }
+}
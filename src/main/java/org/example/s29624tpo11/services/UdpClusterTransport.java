@@ -0,0 +1,86 @@
+package org.example.s29624tpo11.services;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetSocketAddress;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Sends every message as one UDP datagram to each configured peer and listens on a local port
+ * for theirs. There are no retries: a lost invalidation is bounded by the cache TTL.
+ */
+public class UdpClusterTransport implements ClusterTransport {
+
+    private static final Logger log = LoggerFactory.getLogger(UdpClusterTransport.class);
+    private static final int MAX_DATAGRAM = 1024;
+
+    private final DatagramSocket socket;
+    private final List<InetSocketAddress> peers;
+    private final List<Consumer<String>> listeners = new CopyOnWriteArrayList<>();
+    private final Thread receiver;
+
+    public UdpClusterTransport(int port, List<InetSocketAddress> peers) {
+        try {
+            this.socket = new DatagramSocket(port);
+        } catch (SocketException e) {
+            throw new UncheckedIOException("Cannot bind cluster port " + port, e);
+        }
+        this.peers = List.copyOf(peers);
+        this.receiver = Thread.ofVirtual().name("cluster-receiver").start(this::receive);
+    }
+
+    @Override
+    public void send(String message) {
+        byte[] data = message.getBytes(StandardCharsets.UTF_8);
+        for (InetSocketAddress peer : peers) {
+            try {
+                socket.send(new DatagramPacket(data, data.length, peer));
+            } catch (IOException e) {
+                log.warn("Cluster message to {} failed", peer, e);
+            }
+        }
+    }
+
+    @Override
+    public void onMessage(Consumer<String> listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void close() {
+        socket.close();
+        receiver.interrupt();
+    }
+
+    private void receive() {
+        byte[] buffer = new byte[MAX_DATAGRAM];
+        while (!socket.isClosed()) {
+            DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+            try {
+                socket.receive(packet);
+            } catch (IOException e) {
+                if (!socket.isClosed()) {
+                    log.warn("Cluster receive failed", e);
+                }
+                continue;
+            }
+            String message = new String(packet.getData(), packet.getOffset(), packet.getLength(), StandardCharsets.UTF_8);
+            for (Consumer<String> listener : listeners) {
+                try {
+                    listener.accept(message);
+                } catch (RuntimeException e) {
+                    log.warn("Cluster message {} could not be handled", message, e);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package org.example.s29624tpo11.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Write-behind buffer for link visits. Redirects only bump an in-memory {@link LongAdder};
+ * the accumulated deltas are written to {@code links.visits} by {@link #flush()} every
+ * {@code app.visits.flush-interval} and once more on shutdown.
+ * <p>
+ * A crash (anything that skips the shutdown flush) loses at most the visits counted since the
+ * last successful flush, i.e. roughly one flush interval of traffic. A failed flush puts its
+ * deltas back, so database outages delay visits instead of dropping them.
+ */
+@Component
+public class VisitCounter {
+
+    private static final Logger log = LoggerFactory.getLogger(VisitCounter.class);
+    private static final String FLUSH_SQL = "UPDATE links SET visits = visits + ? WHERE id = ?";
+
+    private final ConcurrentHashMap<String, LongAdder> pending = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Map.Entry<String, LongAdder>> retired = new ConcurrentLinkedQueue<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter flushedVisits;
+    private final Counter failedFlushes;
+
+    @Value("${app.visits.batch-size:500}")
+    private int batchSize;
+
+    @Autowired
+    public VisitCounter(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                        MeterRegistry registry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.flushedVisits = Counter.builder("links.visits.flushed").register(registry);
+        this.failedFlushes = Counter.builder("links.visits.flush.failures").register(registry);
+        Gauge.builder("links.visits.pending.links", pending, Map::size).register(registry);
+    }
+
+    public void increment(String id) {
+        LongAdder adder = pending.get(id);
+        if (adder == null) {
+            adder = pending.computeIfAbsent(id, key -> new LongAdder());
+        }
+        adder.increment();
+    }
+
+    public long pending(String id) {
+        LongAdder adder = pending.get(id);
+        return adder == null ? 0 : adder.sum();
+    }
+
+    public void discard(String id) {
+        pending.remove(id);
+    }
+
+    @Scheduled(fixedDelayString = "${app.visits.flush-interval:1000}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            flushPending();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private void flushPending() {
+        List<Object[]> deltas = new ArrayList<>();
+
+        // Adders removed in the previous cycle may still have received a late increment
+        // from a thread that looked them up just before removal; collect it now.
+        Map.Entry<String, LongAdder> old;
+        while ((old = retired.poll()) != null) {
+            long delta = old.getValue().sumThenReset();
+            if (delta > 0) {
+                deltas.add(new Object[]{delta, old.getKey()});
+            }
+        }
+
+        for (Map.Entry<String, LongAdder> entry : pending.entrySet()) {
+            long delta = entry.getValue().sumThenReset();
+            if (delta > 0) {
+                deltas.add(new Object[]{delta, entry.getKey()});
+            } else if (pending.remove(entry.getKey(), entry.getValue())) {
+                retired.add(entry);
+            }
+        }
+
+        for (int from = 0; from < deltas.size(); from += batchSize) {
+            List<Object[]> batch = deltas.subList(from, Math.min(from + batchSize, deltas.size()));
+            try {
+                transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(FLUSH_SQL, batch));
+                for (Object[] delta : batch) {
+                    flushedVisits.increment((Long) delta[0]);
+                }
+            } catch (RuntimeException e) {
+                failedFlushes.increment();
+                log.warn("Visit flush failed, keeping {} deltas for the next attempt", deltas.size() - from, e);
+                restore(deltas.subList(from, deltas.size()));
+                return;
+            }
+        }
+    }
+
+    private void restore(List<Object[]> deltas) {
+        for (Object[] delta : deltas) {
+            pending.computeIfAbsent((String) delta[1], key -> new LongAdder()).add((Long) delta[0]);
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package org.example.s29624tpo11.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.example.s29624tpo11.DTOs.VisitBucketDTO;
+import org.example.s29624tpo11.DTOs.VisitSeriesDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Per-link visit aggregates at minute, hour and day resolution. Redirects bump an in-memory
+ * counter for the current minute; {@link #flush()} adds the accumulated deltas to all three
+ * resolutions in {@code visit_rollups}, and {@link #compact()} deletes minute and hour rows once
+ * they are older than their retention, so storage grows with the number of links rather than
+ * with traffic.
+ */
+@Component
+public class VisitRollups {
+
+    private static final Logger log = LoggerFactory.getLogger(VisitRollups.class);
+    private static final String UPDATE_SQL =
+            "UPDATE visit_rollups SET visits = visits + ? WHERE link_id = ? AND resolution = ? AND bucket_start = ?";
+    private static final String INSERT_SQL =
+            "INSERT INTO visit_rollups (visits, link_id, resolution, bucket_start) VALUES (?, ?, ?, ?)";
+    private static final String SELECT_SQL =
+            "SELECT bucket_start, visits FROM visit_rollups"
+                    + " WHERE link_id = ? AND resolution = ? AND bucket_start >= ? AND bucket_start < ?"
+                    + " ORDER BY bucket_start";
+
+    private record MinuteKey(String linkId, long minute) {}
+
+    private record RollupKey(String linkId, TimeBucket resolution, long bucketStart) {}
+
+    private final ConcurrentHashMap<MinuteKey, LongAdder> pending = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Map.Entry<MinuteKey, LongAdder>> retired = new ConcurrentLinkedQueue<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter failedFlushes;
+
+    @Value("${app.rollups.minute-retention:2d}")
+    private Duration minuteRetention;
+
+    @Value("${app.rollups.hour-retention:90d}")
+    private Duration hourRetention;
+
+    @Value("${app.rollups.max-buckets:1440}")
+    private int maxBuckets;
+
+    @Autowired
+    public VisitRollups(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                        MeterRegistry registry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.failedFlushes = Counter.builder("links.rollups.flush.failures").register(registry);
+        Gauge.builder("links.rollups.pending", pending, Map::size).register(registry);
+    }
+
+    public void record(String linkId, long timestamp) {
+        MinuteKey key = new MinuteKey(linkId, TimeBucket.MINUTE.floor(timestamp));
+        LongAdder adder = pending.get(key);
+        if (adder == null) {
+            adder = pending.computeIfAbsent(key, k -> new LongAdder());
+        }
+        adder.increment();
+    }
+
+    public void delete(String linkId) {
+        pending.keySet().removeIf(key -> key.linkId().equals(linkId));
+        jdbcTemplate.update("DELETE FROM visit_rollups WHERE link_id = ?", linkId);
+    }
+
+    public void deleteAll(Collection<String> linkIds) {
+        Set<String> ids = new HashSet<>(linkIds);
+        pending.keySet().removeIf(key -> ids.contains(key.linkId()));
+        List<Object[]> params = new ArrayList<>(linkIds.size());
+        for (String linkId : linkIds) {
+            params.add(new Object[]{linkId});
+        }
+        jdbcTemplate.batchUpdate("DELETE FROM visit_rollups WHERE link_id = ?", params);
+    }
+
+    /**
+     * Reads the series for {@code [from, to)} at {@code requested} resolution, or the finest one that
+     * stays within {@code app.rollups.max-buckets} points. A requested resolution that would return
+     * more points, or whose retention no longer reaches back to {@code from}, is replaced by the
+     * next coarser one; the returned series names the resolution actually used.
+     */
+    public VisitSeriesDTO series(String linkId, Instant from, Instant to, TimeBucket requested) {
+        long start = from.toEpochMilli();
+        long end = to.toEpochMilli();
+        TimeBucket resolution = finestWithin(end - start);
+        if (requested != null && requested.compareTo(resolution) > 0) {
+            resolution = requested;
+        }
+        resolution = retainedFor(resolution, start);
+
+        List<VisitBucketDTO> buckets = jdbcTemplate.query(SELECT_SQL,
+                (rs, row) -> new VisitBucketDTO(Instant.ofEpochMilli(rs.getLong("bucket_start")), rs.getLong("visits")),
+                linkId, resolution.name(), resolution.floor(start), end);
+        return new VisitSeriesDTO(resolution.name().toLowerCase(Locale.ROOT), buckets);
+    }
+
+    @Scheduled(fixedDelayString = "${app.rollups.flush-interval:5000}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            flushPending();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @Scheduled(cron = "${app.rollups.compaction-cron:0 15 * * * *}")
+    public void compact() {
+        long now = System.currentTimeMillis();
+        int minutes = deleteOlderThan(TimeBucket.MINUTE, now - minuteRetention.toMillis());
+        int hours = deleteOlderThan(TimeBucket.HOUR, now - hourRetention.toMillis());
+        log.info("Compacted visit rollups: {} minute rows, {} hour rows removed", minutes, hours);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private void flushPending() {
+        long currentMinute = TimeBucket.MINUTE.floor(System.currentTimeMillis());
+        Map<MinuteKey, Long> deltas = new HashMap<>();
+
+        // Same retirement scheme as VisitCounter: entries for past minutes are removed, and any
+        // increment that raced with the removal is picked up one cycle later.
+        Map.Entry<MinuteKey, LongAdder> old;
+        while ((old = retired.poll()) != null) {
+            long delta = old.getValue().sumThenReset();
+            if (delta > 0) {
+                deltas.merge(old.getKey(), delta, Long::sum);
+            }
+        }
+
+        for (Map.Entry<MinuteKey, LongAdder> entry : pending.entrySet()) {
+            if (entry.getKey().minute() < currentMinute && pending.remove(entry.getKey(), entry.getValue())) {
+                retired.add(entry);
+            }
+            long delta = entry.getValue().sumThenReset();
+            if (delta > 0) {
+                deltas.merge(entry.getKey(), delta, Long::sum);
+            }
+        }
+
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        Map<RollupKey, Long> rows = new HashMap<>();
+        for (Map.Entry<MinuteKey, Long> delta : deltas.entrySet()) {
+            MinuteKey key = delta.getKey();
+            for (TimeBucket resolution : TimeBucket.values()) {
+                rows.merge(new RollupKey(key.linkId(), resolution, resolution.floor(key.minute())),
+                        delta.getValue(), Long::sum);
+            }
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> upsert(rows));
+        } catch (RuntimeException e) {
+            failedFlushes.increment();
+            log.warn("Rollup flush failed, keeping {} minute deltas for the next attempt", deltas.size(), e);
+            for (Map.Entry<MinuteKey, Long> delta : deltas.entrySet()) {
+                pending.computeIfAbsent(delta.getKey(), key -> new LongAdder()).add(delta.getValue());
+            }
+        }
+    }
+
+    private void upsert(Map<RollupKey, Long> rows) {
+        List<Object[]> params = new ArrayList<>(rows.size());
+        for (Map.Entry<RollupKey, Long> row : rows.entrySet()) {
+            RollupKey key = row.getKey();
+            params.add(new Object[]{row.getValue(), key.linkId(), key.resolution().name(), key.bucketStart()});
+        }
+
+        int[] updated = jdbcTemplate.batchUpdate(UPDATE_SQL, params);
+        List<Object[]> missing = new ArrayList<>();
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                missing.add(params.get(i));
+            }
+        }
+        if (!missing.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, missing);
+        }
+    }
+
+    private int deleteOlderThan(TimeBucket resolution, long cutoff) {
+        return jdbcTemplate.update("DELETE FROM visit_rollups WHERE resolution = ? AND bucket_start < ?",
+                resolution.name(), resolution.floor(cutoff));
+    }
+
+    private TimeBucket finestWithin(long rangeMillis) {
+        for (TimeBucket resolution : TimeBucket.values()) {
+            if (rangeMillis / resolution.millis() <= maxBuckets) {
+                return resolution;
+            }
+        }
+        return TimeBucket.DAY;
+    }
+
+    private TimeBucket retainedFor(TimeBucket resolution, long start) {
+        long age = System.currentTimeMillis() - start;
+        if (resolution == TimeBucket.MINUTE && age > minuteRetention.toMillis()) {
+            resolution = TimeBucket.HOUR;
+        }
+        if (resolution == TimeBucket.HOUR && age > hourRetention.toMillis()) {
+            resolution = TimeBucket.DAY;
+        }
+        return resolution;
+    }
+}
@@ -0,0 +1,51 @@
+-- Schema as of the switch from ddl-auto to Flyway. Portable between H2 and PostgreSQL.
+
+CREATE TABLE links (
+    id            VARCHAR(10)  NOT NULL,
+    name          VARCHAR(255) NOT NULL,
+    name_key      VARCHAR(255) NOT NULL,
+    target_url    VARCHAR(255) NOT NULL,
+    password      VARCHAR(255),
+    visits        BIGINT       NOT NULL,
+    expires_at    TIMESTAMP(6) WITH TIME ZONE,
+    max_visits    BIGINT,
+    redirect_type VARCHAR(16),
+    max_age       BIGINT,
+    version       BIGINT       DEFAULT 0 NOT NULL,
+    CONSTRAINT pk_links PRIMARY KEY (id),
+    CONSTRAINT uk_links_name UNIQUE (name)
+);
+
+CREATE INDEX idx_links_name_key ON links (name_key, id);
+CREATE INDEX idx_links_visits ON links (visits DESC, id);
+CREATE INDEX idx_links_expires_at ON links (expires_at);
+
+CREATE TABLE link_clicks (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    link_id    VARCHAR(10)  NOT NULL,
+    clicked_at BIGINT       NOT NULL,
+    referrer   VARCHAR(255),
+    user_agent VARCHAR(255),
+    country    VARCHAR(2)   NOT NULL,
+    CONSTRAINT pk_link_clicks PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_link_clicks_link_time ON link_clicks (link_id, clicked_at);
+
+CREATE TABLE visit_rollups (
+    link_id      VARCHAR(10) NOT NULL,
+    resolution   VARCHAR(6)  NOT NULL,
+    bucket_start BIGINT      NOT NULL,
+    visits       BIGINT      NOT NULL,
+    CONSTRAINT pk_visit_rollups PRIMARY KEY (link_id, resolution, bucket_start)
+);
+
+CREATE INDEX idx_visit_rollups_resolution_bucket ON visit_rollups (resolution, bucket_start);
+
+CREATE TABLE replica_heartbeat (
+    id      INTEGER NOT NULL,
+    beat_at BIGINT  NOT NULL,
+    CONSTRAINT pk_replica_heartbeat PRIMARY KEY (id)
+);
+
+CREATE SEQUENCE IF NOT EXISTS link_id_blocks;
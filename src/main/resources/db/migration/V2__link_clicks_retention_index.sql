@@ -0,0 +1,2 @@
+-- Lets the click retention sweep delete old rows by clicked_at without scanning the table.
+CREATE INDEX idx_link_clicks_clicked_at ON link_clicks (clicked_at);
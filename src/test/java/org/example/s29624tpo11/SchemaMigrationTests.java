@@ -0,0 +1,34 @@
+package org.example.s29624tpo11;
+
+import org.example.s29624tpo11.DTOs.CreateLinkDTO;
+import org.example.s29624tpo11.services.LinkService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Builds the schema with the Flyway migrations instead of Hibernate, as the prod profile does;
+ * {@code ddl-auto: validate} fails the context if the migrations and entities disagree.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:migrated;DB_CLOSE_DELAY=-1",
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "app.visits.flush-interval=3600000",
+        "app.passwords.migration.on-startup=false"
+})
+class SchemaMigrationTests {
+
+    @Autowired
+    LinkService linkService;
+
+    @Test
+    void migratedSchemaServesLinks() {
+        String id = linkService.createLink(new CreateLinkDTO("migrated", "https://example.com", null)).getId();
+
+        assertEquals("https://example.com", linkService.redirectAndIncrement(id));
+        assertEquals(1, linkService.getLinkById(id).getVisits());
+    }
+}
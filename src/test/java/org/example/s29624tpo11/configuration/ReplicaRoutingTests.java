@@ -0,0 +1,124 @@
+package org.example.s29624tpo11.configuration;
+
+import org.example.s29624tpo11.DTOs.CreateLinkDTO;
+import org.example.s29624tpo11.DTOs.UpdateLinkDTO;
+import org.example.s29624tpo11.services.LinkService;
+import org.example.s29624tpo11.services.RedirectCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Two in-memory H2 databases stand in for primary and replica. There is no replication between
+ * them, which makes it visible which one served a read: rows are written to the replica directly.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:primary;DB_CLOSE_DELAY=-1",
+        "app.replicas.enabled=true",
+        "app.replicas.urls=" + ReplicaRoutingTests.REPLICA_URL,
+        "app.replicas.max-staleness=5s",
+        "app.replicas.check-interval=3600000",
+        "app.visits.flush-interval=3600000",
+        "app.passwords.migration.on-startup=false"
+})
+class ReplicaRoutingTests {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1";
+    private static final AtomicInteger names = new AtomicInteger();
+
+    @Autowired
+    LinkService linkService;
+
+    @Autowired
+    RedirectCache redirectCache;
+
+    @Autowired
+    ReplicaDataSource replicaDataSource;
+
+    @Autowired
+    DataSource dataSource;
+
+    JdbcTemplate replica;
+
+    @BeforeEach
+    void copySchemaToReplica() {
+        replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "rose", "test"));
+        List<String> script = new JdbcTemplate(dataSource).queryForList("SCRIPT NODATA", String.class);
+        replica.execute("DROP ALL OBJECTS");
+        for (String statement : script) {
+            if (!statement.startsWith("--")) {
+                replica.execute(statement);
+            }
+        }
+    }
+
+    @Test
+    void readsGoToFreshReplica() {
+        String id = create("https://primary.example.com");
+        copyToReplica(id, "https://replica.example.com");
+        heartbeat(System.currentTimeMillis());
+
+        assertEquals("https://replica.example.com", linkService.redirectAndIncrement(id));
+        assertEquals("https://replica.example.com", linkService.getLinkById(id).getTargetUrl());
+    }
+
+    @Test
+    void staleReplicaIsBypassed() {
+        String id = create("https://primary.example.com");
+        copyToReplica(id, "https://replica.example.com");
+        heartbeat(System.currentTimeMillis() - 60_000);
+
+        assertEquals("https://primary.example.com", linkService.redirectAndIncrement(id));
+        assertEquals("https://primary.example.com", linkService.getLinkById(id).getTargetUrl());
+    }
+
+    @Test
+    void linkMissingOnReplicaIsReadFromPrimary() {
+        heartbeat(System.currentTimeMillis());
+        String id = create("https://primary.example.com");
+
+        assertEquals("https://primary.example.com", linkService.redirectAndIncrement(id));
+    }
+
+    @Test
+    void writesUsePrimary() {
+        heartbeat(System.currentTimeMillis());
+        String id = create("https://primary.example.com");
+
+        UpdateLinkDTO update = new UpdateLinkDTO();
+        update.setTargetUrl("https://updated.example.com");
+        linkService.updateLink(id, update);
+
+        String onPrimary = new JdbcTemplate(dataSource)
+                .queryForObject("SELECT target_url FROM links WHERE id = ?", String.class, id);
+        assertEquals("https://updated.example.com", onPrimary);
+    }
+
+    private String create(String targetUrl) {
+        CreateLinkDTO request = new CreateLinkDTO();
+        request.setName("replica-" + names.incrementAndGet());
+        request.setTargetUrl(targetUrl);
+        String id = linkService.createLink(request).getId();
+        redirectCache.invalidate(id);
+        return id;
+    }
+
+    private void copyToReplica(String id, String targetUrl) {
+        replica.update("INSERT INTO links (id, name, name_key, target_url, visits) VALUES (?, ?, ?, ?, 0)",
+                id, "copy-" + id, "copy-" + id.toLowerCase(), targetUrl);
+    }
+
+    private void heartbeat(long beatAt) {
+        replica.update("INSERT INTO replica_heartbeat (id, beat_at) VALUES (1, ?)", beatAt);
+        replicaDataSource.check();
+    }
+}
@@ -0,0 +1,64 @@
+package org.example.s29624tpo11.services;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BloomFilterTests {
+
+    private static final int INSERTIONS = 100_000;
+    private static final double RATE = 0.01;
+
+    @Test
+    void addedValuesAreNeverMissed() {
+        BloomFilter filter = new BloomFilter(INSERTIONS, RATE);
+        for (int i = 0; i < INSERTIONS; i++) {
+            filter.add(ShortIds.encodeSequence(i));
+        }
+
+        for (int i = 0; i < INSERTIONS; i++) {
+            assertTrue(filter.mightContain(ShortIds.encodeSequence(i)));
+        }
+        assertEquals(INSERTIONS, filter.insertions());
+    }
+
+    @Test
+    void falsePositivesStayNearConfiguredRate() {
+        BloomFilter filter = new BloomFilter(INSERTIONS, RATE);
+        for (int i = 0; i < INSERTIONS; i++) {
+            filter.add("present-" + i);
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < INSERTIONS; i++) {
+            if (filter.mightContain("absent-" + i)) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < INSERTIONS * RATE * 2, "false positives: " + falsePositives);
+        assertTrue(filter.expectedFalsePositiveRate() < RATE * 2);
+    }
+
+    @Test
+    void sizedFromExpectedInsertionsAndRate() {
+        // m = -n ln p / (ln 2)^2 rounded up to whole words, k = m / n ln 2.
+        BloomFilter filter = new BloomFilter(INSERTIONS, RATE);
+        assertEquals(958_528, filter.bits());
+        assertEquals(7, filter.hashes());
+
+        BloomFilter stricter = new BloomFilter(INSERTIONS, RATE / 10);
+        assertTrue(stricter.bits() > filter.bits());
+        assertTrue(stricter.hashes() > filter.hashes());
+
+        BloomFilter empty = new BloomFilter(0, RATE);
+        assertEquals(64, empty.bits());
+        assertEquals(0.0, empty.expectedFalsePositiveRate());
+    }
+
+    @Test
+    void oversizedFilterIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(Long.MAX_VALUE / 64, RATE));
+    }
+}
@@ -0,0 +1,158 @@
+package org.example.s29624tpo11.services;
+
+import org.example.s29624tpo11.DTOs.BatchItemResultDTO;
+import org.example.s29624tpo11.DTOs.BatchItemResultDTO.Status;
+import org.example.s29624tpo11.DTOs.BatchResponseDTO;
+import org.example.s29624tpo11.DTOs.CreateLinkDTO;
+import org.example.s29624tpo11.exceptions.BatchTooLargeException;
+import org.example.s29624tpo11.repositories.LinkRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:bulk;DB_CLOSE_DELAY=-1",
+        "app.visits.flush-interval=3600000",
+        "app.passwords.migration.on-startup=false",
+        "app.batch.chunk-size=2",
+        "app.batch.max-items=5",
+        "app.batch.max-bytes=1KB"
+})
+class BulkLinkServiceTests {
+
+    private static final AtomicInteger names = new AtomicInteger();
+
+    @Autowired
+    BulkLinkService bulkLinkService;
+
+    @Autowired
+    LinkService linkService;
+
+    @Autowired
+    LinkRepository linkRepository;
+
+    @Test
+    void batchWithinLimitsIsRead() throws Exception {
+        String body = "{\"name\":\"bulk-read-1\",\"targetUrl\":\"https://example.com/1\"}\n"
+                + "{\"name\":\"bulk-read-2\",\"targetUrl\":\"https://example.com/2\"}\n";
+
+        List<CreateLinkDTO> requests = bulkLinkService.readBatch(stream(body));
+
+        assertEquals(List.of("bulk-read-1", "bulk-read-2"), requests.stream().map(CreateLinkDTO::getName).toList());
+    }
+
+    @Test
+    void batchOverItemLimitIsRejected() {
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < 6; i++) {
+            body.append("{\"name\":\"bulk-").append(i).append("\"}\n");
+        }
+
+        assertThrows(BatchTooLargeException.class, () -> bulkLinkService.readBatch(stream(body.toString())));
+        assertThrows(BatchTooLargeException.class, () -> bulkLinkService.createLinks(requests(6), true, Locale.ENGLISH));
+    }
+
+    @Test
+    void batchOverByteLimitIsRejected() {
+        String body = "{\"name\":\"bulk-bytes\",\"targetUrl\":\"https://example.com/" + "a".repeat(2048) + "\"}";
+
+        assertThrows(BatchTooLargeException.class, () -> bulkLinkService.readBatch(stream(body)));
+    }
+
+    @Test
+    void partialBatchCreatesValidItemsAndReportsDuplicates() {
+        String existing = create();
+        List<CreateLinkDTO> requests = requests(3);
+        requests.add(new CreateLinkDTO(requests.get(0).getName(), "https://example.com/again", null));
+        requests.add(new CreateLinkDTO(existing, "https://example.com/existing", null));
+
+        BatchResponseDTO response = bulkLinkService.createLinks(requests, true, Locale.ENGLISH);
+
+        assertEquals(3, response.getCreated());
+        assertEquals(2, response.getFailed());
+        assertEquals(List.of(Status.CREATED, Status.CREATED, Status.CREATED, Status.DUPLICATE, Status.DUPLICATE),
+                statuses(response));
+        for (int i = 0; i < 3; i++) {
+            BatchItemResultDTO result = response.getResults().get(i);
+            assertNotNull(result.getLink());
+            assertTrue(linkRepository.findByName(requests.get(i).getName()).isPresent());
+        }
+        assertNotNull(response.getResults().get(4).getError());
+    }
+
+    @Test
+    void allOrNothingBatchWithDuplicateCreatesNothing() {
+        String existing = create();
+        List<CreateLinkDTO> requests = requests(3);
+        requests.add(new CreateLinkDTO(existing, "https://example.com/existing", null));
+
+        BatchResponseDTO response = bulkLinkService.createLinks(requests, false, Locale.ENGLISH);
+
+        assertEquals(0, response.getCreated());
+        assertEquals(List.of(Status.SKIPPED, Status.SKIPPED, Status.SKIPPED, Status.DUPLICATE), statuses(response));
+        for (int i = 0; i < 3; i++) {
+            assertNull(response.getResults().get(i).getLink());
+            assertTrue(linkRepository.findByName(requests.get(i).getName()).isEmpty());
+        }
+    }
+
+    @Test
+    void allOrNothingBatchWithInvalidItemCreatesNothing() {
+        List<CreateLinkDTO> requests = requests(2);
+        requests.add(new CreateLinkDTO("bulk-invalid", "http://not-https.example.com", null));
+
+        BatchResponseDTO response = bulkLinkService.createLinks(requests, false, Locale.ENGLISH);
+
+        assertEquals(List.of(Status.SKIPPED, Status.SKIPPED, Status.INVALID), statuses(response));
+        assertNotNull(response.getResults().get(2).getErrors().get("targetUrl"));
+        assertTrue(linkRepository.findByName(requests.get(0).getName()).isEmpty());
+    }
+
+    @Test
+    void allOrNothingBatchAcrossChunksCreatesEverything() {
+        List<CreateLinkDTO> requests = requests(5);
+
+        BatchResponseDTO response = bulkLinkService.createLinks(requests, false, Locale.ENGLISH);
+
+        assertEquals(5, response.getCreated());
+        for (CreateLinkDTO request : requests) {
+            assertTrue(linkRepository.findByName(request.getName()).isPresent());
+        }
+    }
+
+    private String create() {
+        String name = "bulk-" + names.incrementAndGet();
+        linkService.createLink(new CreateLinkDTO(name, "https://example.com/" + name, null));
+        return name;
+    }
+
+    private static List<CreateLinkDTO> requests(int count) {
+        List<CreateLinkDTO> requests = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String name = "bulk-" + names.incrementAndGet();
+            requests.add(new CreateLinkDTO(name, "https://example.com/" + name, null));
+        }
+        return requests;
+    }
+
+    private static List<Status> statuses(BatchResponseDTO response) {
+        return response.getResults().stream().map(BatchItemResultDTO::getStatus).toList();
+    }
+
+    private static ByteArrayInputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
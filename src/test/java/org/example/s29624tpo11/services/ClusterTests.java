@@ -0,0 +1,124 @@
+package org.example.s29624tpo11.services;
+
+import org.example.s29624tpo11.DTOs.CreateLinkDTO;
+import org.example.s29624tpo11.DTOs.UpdateLinkDTO;
+import org.example.s29624tpo11.S29624Tpo11Application;
+import org.example.s29624tpo11.exceptions.LinkNotFoundException;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Three application contexts in one JVM sharing an in-memory database, connected by the loopback
+ * transport. Redirect caches have a long TTL, so a node only sees a change made elsewhere if the
+ * invalidation reached it.
+ */
+class ClusterTests {
+
+    private static final int NODES = 3;
+    private static final AtomicInteger names = new AtomicInteger();
+    private static final ConfigurableApplicationContext[] contexts = new ConfigurableApplicationContext[NODES];
+
+    @BeforeAll
+    static void startNodes() {
+        for (int node = 0; node < NODES; node++) {
+            contexts[node] = new SpringApplicationBuilder(S29624Tpo11Application.class).run(
+                    "--server.port=0",
+                    "--spring.datasource.url=jdbc:h2:mem:cluster;DB_CLOSE_DELAY=-1",
+                    "--spring.jpa.hibernate.ddl-auto=update",
+                    "--app.ids.strategy=node",
+                    "--app.cluster.enabled=true",
+                    "--app.cluster.transport=loopback",
+                    "--app.cluster.name=cluster-tests",
+                    "--app.cluster.node-id=" + (node + 1),
+                    "--app.redirect-cache.ttl=1h",
+                    "--app.redirect-cache.negative-ttl=1h",
+                    "--app.visits.flush-interval=3600000",
+                    "--app.passwords.migration.on-startup=false");
+        }
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        for (ConfigurableApplicationContext context : contexts) {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    @Test
+    void updateOnOneNodeIsSeenByAllNodes() {
+        String id = create(0, "https://before.example.com");
+        for (int node = 0; node < NODES; node++) {
+            assertEquals("https://before.example.com", service(node).redirectAndIncrement(id));
+        }
+
+        UpdateLinkDTO update = new UpdateLinkDTO();
+        update.setTargetUrl("https://after.example.com");
+        service(1).updateLink(id, update);
+
+        for (int node = 0; node < NODES; node++) {
+            assertEquals("https://after.example.com", service(node).redirectAndIncrement(id));
+        }
+    }
+
+    @Test
+    void deleteOnOneNodeIsSeenByAllNodes() {
+        String id = create(2, "https://deleted.example.com");
+        for (int node = 0; node < NODES; node++) {
+            service(node).redirectAndIncrement(id);
+        }
+
+        service(0).deleteLink(id, null);
+
+        for (int node = 0; node < NODES; node++) {
+            LinkService linkService = service(node);
+            assertThrows(LinkNotFoundException.class, () -> linkService.redirectAndIncrement(id));
+        }
+    }
+
+    @Test
+    void nodesGenerateDisjointIds() {
+        Set<String> ids = new HashSet<>();
+        int perNode = 50_000;
+        for (int node = 0; node < NODES; node++) {
+            IdGenerator generator = contexts[node].getBean(IdGenerator.class);
+            for (int i = 0; i < perNode; i++) {
+                assertTrue(ids.add(generator.nextId()));
+            }
+        }
+        assertEquals(NODES * perNode, ids.size());
+    }
+
+    @Test
+    void nodeStrategyWithoutNodeIdFailsStartup() {
+        SpringApplicationBuilder application = new SpringApplicationBuilder(S29624Tpo11Application.class);
+        assertThrows(Exception.class, () -> application.run(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:cluster-no-node-id;DB_CLOSE_DELAY=-1",
+                "--app.ids.strategy=node",
+                "--app.passwords.migration.on-startup=false"));
+    }
+
+    private static LinkService service(int node) {
+        return contexts[node].getBean(LinkService.class);
+    }
+
+    private static String create(int node, String targetUrl) {
+        CreateLinkDTO request = new CreateLinkDTO();
+        request.setName("cluster-" + names.incrementAndGet());
+        request.setTargetUrl(targetUrl);
+        return service(node).createLink(request).getId();
+    }
+}
@@ -0,0 +1,57 @@
+package org.example.s29624tpo11.services;
+
+import org.example.s29624tpo11.exceptions.InvalidCursorException;
+import org.example.s29624tpo11.services.LinkCursor.LinkSort;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LinkCursorTests {
+
+    @Test
+    void idCursorRoundTrips() {
+        LinkCursor cursor = new LinkCursor(LinkSort.ID, 0, "bqfCckkRpf");
+
+        assertEquals(cursor, LinkCursor.decode(cursor.encode(), LinkSort.ID));
+    }
+
+    @Test
+    void visitsCursorRoundTrips() {
+        LinkCursor cursor = new LinkCursor(LinkSort.VISITS, 9_876_543_210L, "bqfCckkRpf");
+
+        assertEquals(cursor, LinkCursor.decode(cursor.encode(), LinkSort.VISITS));
+    }
+
+    @Test
+    void cursorIsUrlSafe() {
+        String encoded = new LinkCursor(LinkSort.VISITS, Long.MAX_VALUE, "zzzzzzzzzz").encode();
+
+        assertEquals(encoded, encoded.replaceAll("[^A-Za-z0-9_-]", ""));
+    }
+
+    @Test
+    void malformedCursorsAreRejected() {
+        assertThrows(InvalidCursorException.class, () -> LinkCursor.decode("not base64!", LinkSort.ID));
+        assertThrows(InvalidCursorException.class, () -> LinkCursor.decode(raw("visits:many:abc"), LinkSort.VISITS));
+        assertThrows(InvalidCursorException.class, () -> LinkCursor.decode(raw("visits:12"), LinkSort.VISITS));
+        assertThrows(InvalidCursorException.class, () -> LinkCursor.decode(raw("name:abc"), LinkSort.ID));
+        assertThrows(InvalidCursorException.class, () -> LinkCursor.decode("", LinkSort.ID));
+    }
+
+    @Test
+    void cursorOfOtherSortOrderIsRejected() {
+        String byId = new LinkCursor(LinkSort.ID, 0, "bqfCckkRpf").encode();
+        String byVisits = new LinkCursor(LinkSort.VISITS, 5, "bqfCckkRpf").encode();
+
+        assertThrows(InvalidCursorException.class, () -> LinkCursor.decode(byId, LinkSort.VISITS));
+        assertThrows(InvalidCursorException.class, () -> LinkCursor.decode(byVisits, LinkSort.ID));
+    }
+
+    private static String raw(String cursor) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+    }
+}
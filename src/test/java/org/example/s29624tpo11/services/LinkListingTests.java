@@ -0,0 +1,109 @@
+package org.example.s29624tpo11.services;
+
+import org.example.s29624tpo11.DTOs.CreateLinkDTO;
+import org.example.s29624tpo11.DTOs.LinkPageDTO;
+import org.example.s29624tpo11.DTOs.ResponseDTO;
+import org.example.s29624tpo11.exceptions.InvalidCursorException;
+import org.example.s29624tpo11.repositories.LinkRepository;
+import org.example.s29624tpo11.services.LinkCursor.LinkSort;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:listing;DB_CLOSE_DELAY=-1",
+        "app.visits.flush-interval=3600000",
+        "app.passwords.migration.on-startup=false"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class LinkListingTests {
+
+    private static final int LINKS = 230;
+    private static final int PAGE = 7;
+    private static final String PASSWORD = "Secret!@#$123AB";
+
+    @Autowired
+    LinkService linkService;
+
+    @Autowired
+    LinkRepository linkRepository;
+
+    private String protectedId;
+
+    @BeforeAll
+    void createLinks() {
+        for (int i = 0; i < LINKS; i++) {
+            String id = linkService.createLink(new CreateLinkDTO("listing-" + i, "https://example.com/" + i, null)).getId();
+            // Few distinct counts, so many links tie on visits and the id breaks the tie.
+            for (int v = 0; v < i % 5; v++) {
+                linkRepository.incrementVisits(id);
+            }
+        }
+        protectedId = linkService.createLink(
+                new CreateLinkDTO("listing-protected", "https://secret.example.com", PASSWORD)).getId();
+    }
+
+    @Test
+    void pagingByIdVisitsEveryLinkOnceInOrder() {
+        List<ResponseDTO> links = listAll(LinkSort.ID);
+
+        assertEquals(LINKS + 1, links.size());
+        assertEquals(LINKS + 1, new HashSet<>(links.stream().map(ResponseDTO::getId).toList()).size());
+        assertEquals(links.stream().sorted(Comparator.comparing(ResponseDTO::getId)).toList(), links);
+    }
+
+    @Test
+    void pagingByVisitsVisitsEveryLinkOnceInOrder() {
+        List<ResponseDTO> links = listAll(LinkSort.VISITS);
+
+        assertEquals(LINKS + 1, links.size());
+        assertEquals(LINKS + 1, new HashSet<>(links.stream().map(ResponseDTO::getId).toList()).size());
+        assertEquals(links.stream()
+                .sorted(Comparator.comparing(ResponseDTO::getVisits).reversed().thenComparing(ResponseDTO::getId))
+                .toList(), links);
+    }
+
+    @Test
+    void protectedLinksAreListedWithoutTarget() {
+        for (ResponseDTO link : listAll(LinkSort.ID)) {
+            if (link.getId().equals(protectedId)) {
+                assertNull(link.getTargetUrl());
+            } else {
+                assertNotNull(link.getTargetUrl());
+            }
+        }
+    }
+
+    @Test
+    void cursorOfOtherSortOrderIsRejected() {
+        String byId = linkService.listLinks(null, PAGE, LinkSort.ID).getNextCursor();
+
+        assertThrows(InvalidCursorException.class, () -> linkService.listLinks(byId, PAGE, LinkSort.VISITS));
+        assertThrows(InvalidCursorException.class, () -> linkService.listLinks("%%%", PAGE, LinkSort.ID));
+    }
+
+    private List<ResponseDTO> listAll(LinkSort sort) {
+        List<ResponseDTO> links = new ArrayList<>();
+        Set<String> cursors = new HashSet<>();
+        String cursor = null;
+        do {
+            LinkPageDTO page = linkService.listLinks(cursor, PAGE, sort);
+            links.addAll(page.getItems());
+            cursor = page.getNextCursor();
+        } while (cursor != null && cursors.add(cursor));
+        return links;
+    }
+}
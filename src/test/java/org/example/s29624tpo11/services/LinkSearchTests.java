@@ -0,0 +1,80 @@
+package org.example.s29624tpo11.services;
+
+import org.example.s29624tpo11.DTOs.CreateLinkDTO;
+import org.example.s29624tpo11.DTOs.LinkSearchPageDTO;
+import org.example.s29624tpo11.DTOs.LinkSummaryDTO;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:search;DB_CLOSE_DELAY=-1",
+        "app.visits.flush-interval=3600000",
+        "app.passwords.migration.on-startup=false"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class LinkSearchTests {
+
+    @Autowired
+    LinkService linkService;
+
+    @BeforeAll
+    void createLinks() {
+        create("AlphaOne", null);
+        create("alphaTwo", null);
+        create("ALPHAthree", "Secret!@#$123AB");
+        create("alpineX", null);
+        create("BetaOne", null);
+    }
+
+    @Test
+    void prefixMatchesIgnoringCase() {
+        for (String prefix : List.of("alpha", "ALPHA", "AlPhA")) {
+            assertEquals(List.of("AlphaOne", "ALPHAthree", "alphaTwo"), names(linkService.searchByPrefix(prefix, 0, 10)));
+        }
+        assertEquals(List.of("AlphaOne", "ALPHAthree", "alphaTwo", "alpineX"), names(linkService.searchByPrefix("al", 0, 10)));
+        assertEquals(List.of("BetaOne"), names(linkService.searchByPrefix("beta", 0, 10)));
+    }
+
+    @Test
+    void wildcardsInPrefixAreLiteral() {
+        assertTrue(linkService.searchByPrefix("al%", 0, 10).getItems().isEmpty());
+        assertTrue(linkService.searchByPrefix("alph_", 0, 10).getItems().isEmpty());
+    }
+
+    @Test
+    void resultsArePaged() {
+        LinkSearchPageDTO first = linkService.searchByPrefix("alpha", 0, 2);
+        LinkSearchPageDTO second = linkService.searchByPrefix("alpha", 1, 2);
+
+        assertEquals(List.of("AlphaOne", "ALPHAthree"), names(first));
+        assertTrue(first.isHasNext());
+        assertEquals(List.of("alphaTwo"), names(second));
+        assertFalse(second.isHasNext());
+    }
+
+    @Test
+    void protectedTargetsAreHidden() {
+        LinkSummaryDTO link = linkService.searchByPrefix("alphathree", 0, 10).getItems().get(0);
+
+        assertTrue(link.isPasswordProtected());
+        assertNull(link.getTargetUrl());
+    }
+
+    private void create(String name, String password) {
+        linkService.createLink(new CreateLinkDTO(name, "https://example.com/" + name, password));
+    }
+
+    private static List<String> names(LinkSearchPageDTO page) {
+        return page.getItems().stream().map(LinkSummaryDTO::getName).toList();
+    }
+}
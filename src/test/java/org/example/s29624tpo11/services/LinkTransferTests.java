@@ -0,0 +1,102 @@
+package org.example.s29624tpo11.services;
+
+import org.example.s29624tpo11.DTOs.CreateLinkDTO;
+import org.example.s29624tpo11.DTOs.ImportResultDTO;
+import org.example.s29624tpo11.S29624Tpo11Application;
+import org.example.s29624tpo11.exceptions.WrongPasswordException;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Exports from one instance and imports into a fresh one. Both start their id sequence from the
+ * same value, so the target would hand out the imported ids again unless the import moved it on.
+ */
+class LinkTransferTests {
+
+    private static final int LINKS = 1_500;
+    private static final String PASSWORD = "Secret!@#$123AB";
+
+    private static ConfigurableApplicationContext source;
+    private static ConfigurableApplicationContext target;
+
+    @BeforeAll
+    static void start() {
+        source = start("transfer-source");
+        target = start("transfer-target");
+    }
+
+    @AfterAll
+    static void stop() {
+        for (ConfigurableApplicationContext context : new ConfigurableApplicationContext[]{source, target}) {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    @Test
+    void linksCreatedAfterImportDoNotReuseImportedIds() throws Exception {
+        Set<String> ids = new HashSet<>();
+        for (int i = 0; i < LINKS; i++) {
+            ids.add(create(source, "source-" + i));
+        }
+
+        ImportResultDTO result = transfer();
+        assertEquals(0, result.getInvalid());
+
+        for (int i = 0; i < LINKS; i++) {
+            assertTrue(ids.add(create(target, "target-" + i)));
+        }
+    }
+
+    @Test
+    void protectedLinksKeepTheirPasswordAcrossTransfer() throws Exception {
+        CreateLinkDTO request = new CreateLinkDTO("transfer-protected", "https://transfer.example.com/protected", PASSWORD);
+        String id = source.getBean(LinkService.class).createLink(request).getId();
+
+        ImportResultDTO result = transfer();
+        assertEquals(0, result.getInvalid());
+
+        LinkService targetLinks = target.getBean(LinkService.class);
+        assertEquals(id, targetLinks.getLinkByName("transfer-protected", PASSWORD).getId());
+        assertThrows(WrongPasswordException.class, () -> targetLinks.getLinkByName("transfer-protected", "Wrong!@#$123AB"));
+    }
+
+    // Exports everything from the source and imports it into the target; links already there are skipped.
+    private static ImportResultDTO transfer() throws Exception {
+        ByteArrayOutputStream export = new ByteArrayOutputStream();
+        long exported = source.getBean(LinkTransferService.class).exportTo(export);
+
+        ImportResultDTO result = target.getBean(LinkTransferService.class)
+                .importFrom(new ByteArrayInputStream(export.toByteArray()));
+        assertEquals(exported, result.getRead());
+        return result;
+    }
+
+    private static ConfigurableApplicationContext start(String database) {
+        return new SpringApplicationBuilder(S29624Tpo11Application.class).run(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1",
+                "--app.visits.flush-interval=3600000",
+                "--app.passwords.migration.on-startup=false");
+    }
+
+    private static String create(ConfigurableApplicationContext context, String name) {
+        CreateLinkDTO request = new CreateLinkDTO();
+        request.setName(name);
+        request.setTargetUrl("https://transfer.example.com/" + name);
+        return context.getBean(LinkService.class).createLink(request).getId();
+    }
+}
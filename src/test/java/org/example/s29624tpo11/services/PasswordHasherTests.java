@@ -0,0 +1,112 @@
+package org.example.s29624tpo11.services;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.s29624tpo11.DTOs.CreateLinkDTO;
+import org.example.s29624tpo11.exceptions.WrongPasswordException;
+import org.example.s29624tpo11.repositories.LinkRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:passwords;DB_CLOSE_DELAY=-1",
+        "app.visits.flush-interval=3600000",
+        "app.passwords.migration.on-startup=false",
+        "app.passwords.iterations=1000"
+})
+class PasswordHasherTests {
+
+    private static final String PASSWORD = "Secret!@#$123AB";
+    private static final String OTHER_PASSWORD = "Other!@#$456CD";
+
+    @Autowired
+    PasswordHasher passwordHasher;
+
+    @Autowired
+    LinkService linkService;
+
+    @Autowired
+    LinkRepository linkRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    void encodedPasswordVerifies() {
+        String stored = passwordHasher.hash(PASSWORD);
+
+        assertTrue(stored.startsWith("{pbkdf2}1000$"));
+        assertTrue(passwordHasher.isEncoded(stored));
+        assertFalse(passwordHasher.needsRehash(stored));
+        assertTrue(passwordHasher.matches("link000001", PASSWORD, stored));
+        assertNotEquals(stored, passwordHasher.hash(PASSWORD));
+    }
+
+    @Test
+    void wrongPasswordIsRejected() {
+        String stored = passwordHasher.hash(PASSWORD);
+
+        assertFalse(passwordHasher.matches("link000002", OTHER_PASSWORD, stored));
+        assertFalse(passwordHasher.matches("link000002", null, stored));
+        assertFalse(passwordHasher.matches("link000002", PASSWORD, "{pbkdf2}1000$broken"));
+    }
+
+    @Test
+    void weakerOrLegacyPasswordsNeedRehash() {
+        PasswordHasher weaker = new PasswordHasher(500, 100, Duration.ofMinutes(5), new SimpleMeterRegistry());
+
+        assertTrue(passwordHasher.needsRehash(weaker.hash(PASSWORD)));
+        assertTrue(passwordHasher.matches("link000003", PASSWORD, weaker.hash(PASSWORD)));
+        assertTrue(passwordHasher.needsRehash(PASSWORD));
+        assertFalse(passwordHasher.isEncoded(PASSWORD));
+    }
+
+    @Test
+    void cachedMatchDoesNotSurviveHashChange() {
+        String stored = passwordHasher.hash(PASSWORD);
+        assertTrue(passwordHasher.matches("link000004", PASSWORD, stored));
+        assertTrue(passwordHasher.matches("link000004", PASSWORD, stored));
+
+        assertFalse(passwordHasher.matches("link000004", PASSWORD, passwordHasher.hash(OTHER_PASSWORD)));
+        assertFalse(passwordHasher.matches("link000005", OTHER_PASSWORD, stored));
+    }
+
+    @Test
+    void legacyPlaintextIsUpgradedOnFirstMatch() {
+        String id = linkService.createLink(new CreateLinkDTO("legacy-plain", "https://example.com/legacy", PASSWORD)).getId();
+        jdbcTemplate.update("UPDATE links SET password = ? WHERE id = ?", PASSWORD, id);
+
+        assertThrows(WrongPasswordException.class, () -> linkService.getLinkByName("legacy-plain", OTHER_PASSWORD));
+        assertEquals(PASSWORD, storedPassword(id));
+
+        assertEquals(id, linkService.getLinkByName("legacy-plain", PASSWORD).getId());
+        String upgraded = storedPassword(id);
+        assertTrue(passwordHasher.isEncoded(upgraded));
+        assertTrue(passwordHasher.matches(id, PASSWORD, upgraded));
+        assertEquals(id, linkService.getLinkByName("legacy-plain", PASSWORD).getId());
+    }
+
+    @Test
+    void changedPasswordInvalidatesCachedMatch() {
+        String id = linkService.createLink(new CreateLinkDTO("changed-pass", "https://example.com/changed", PASSWORD)).getId();
+        assertEquals(id, linkService.getLinkByName("changed-pass", PASSWORD).getId());
+
+        assertEquals(1, linkRepository.replacePassword(id, storedPassword(id), passwordHasher.hash(OTHER_PASSWORD)));
+
+        assertThrows(WrongPasswordException.class, () -> linkService.getLinkByName("changed-pass", PASSWORD));
+        assertEquals(id, linkService.getLinkByName("changed-pass", OTHER_PASSWORD).getId());
+    }
+
+    private String storedPassword(String id) {
+        return jdbcTemplate.queryForObject("SELECT password FROM links WHERE id = ?", String.class, id);
+    }
+}
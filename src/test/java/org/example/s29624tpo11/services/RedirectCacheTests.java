@@ -0,0 +1,44 @@
+package org.example.s29624tpo11.services;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RedirectCacheTests {
+
+    private final RedirectCache cache = new RedirectCache(100, Duration.ofMinutes(10), Duration.ofSeconds(30),
+            new SimpleMeterRegistry());
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void loadRacingWithInvalidationOfOtherIdIsKept() {
+        cache.get("a", id -> {
+            cache.invalidate("b");
+            return load(id);
+        });
+        cache.get("a", this::load);
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void loadRacingWithInvalidationOfSameIdIsDropped() {
+        cache.get("a", id -> {
+            cache.invalidate("a");
+            return load(id);
+        });
+        cache.get("a", this::load);
+
+        assertEquals(2, loads.get());
+    }
+
+    private Optional<RedirectTarget> load(String id) {
+        loads.incrementAndGet();
+        return Optional.empty();
+    }
+}
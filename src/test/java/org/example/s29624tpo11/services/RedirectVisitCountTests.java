@@ -0,0 +1,188 @@
+package org.example.s29624tpo11.services;
+
+import org.example.s29624tpo11.DTOs.CreateLinkDTO;
+import org.example.s29624tpo11.DTOs.UpdateLinkDTO;
+import org.example.s29624tpo11.exceptions.LinkExpiredException;
+import org.example.s29624tpo11.exceptions.LinkNotFoundException;
+import org.example.s29624tpo11.repositories.LinkRepository;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:visits;DB_CLOSE_DELAY=-1",
+        "app.visits.flush-interval=3600000"
+})
+class RedirectVisitCountTests {
+
+    private static final int THREADS = 8;
+    private static final int REDIRECTS_PER_THREAD = 250;
+    private static final AtomicInteger names = new AtomicInteger();
+
+    @Autowired
+    LinkService linkService;
+
+    @Autowired
+    LinkRepository linkRepository;
+
+    @Autowired
+    VisitCounter visitCounter;
+
+    @Test
+    void concurrentRedirectsMatchSequentialRedirects() throws Exception {
+        long expected = THREADS * REDIRECTS_PER_THREAD;
+        String sequentialId = create();
+        String redirectId = create();
+
+        for (int i = 0; i < expected; i++) {
+            linkService.redirectAndIncrement(sequentialId);
+        }
+        redirectConcurrently(redirectId);
+        visitCounter.flush();
+
+        assertEquals(expected, linkRepository.findById(sequentialId).orElseThrow().getVisits());
+        assertEquals(expected, linkRepository.findById(redirectId).orElseThrow().getVisits());
+        assertEquals(expected, linkService.getLinkById(redirectId).getVisits());
+    }
+
+    @Test
+    void updatesDuringRedirectsDoNotResetCappedVisits() throws Exception {
+        long cap = THREADS * REDIRECTS_PER_THREAD / 2;
+        CreateLinkDTO request = new CreateLinkDTO("visits-" + names.incrementAndGet(), "https://example.com", null);
+        request.setMaxVisits(cap);
+        String id = linkService.createLink(request).getId();
+
+        AtomicInteger redirected = new AtomicInteger();
+        AtomicBoolean redirecting = new AtomicBoolean(true);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS + 1);
+        try {
+            Future<?> updates = executor.submit(() -> {
+                for (int i = 0; redirecting.get(); i++) {
+                    UpdateLinkDTO update = new UpdateLinkDTO();
+                    update.setTargetUrl("https://example.com/" + i);
+                    try {
+                        linkService.updateLink(id, update);
+                    } catch (ObjectOptimisticLockingFailureException expired) {
+                        // the cap was reached and the link expired under this update
+                    }
+                }
+            });
+            List<Future<?>> redirects = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                redirects.add(executor.submit(() -> {
+                    for (int i = 0; i < REDIRECTS_PER_THREAD; i++) {
+                        try {
+                            linkService.redirectAndIncrement(id);
+                            redirected.incrementAndGet();
+                        } catch (LinkExpiredException capped) {
+                            // past the cap
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : redirects) {
+                future.get();
+            }
+            redirecting.set(false);
+            updates.get();
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(cap, redirected.get());
+        assertEquals(cap, linkRepository.findById(id).orElseThrow().getVisits());
+    }
+
+    @Test
+    void pendingVisitsAreVisibleBeforeFlush() {
+        String id = create();
+
+        linkService.redirectAndIncrement(id);
+        linkService.redirectAndIncrement(id);
+
+        assertEquals(2, linkService.getLinkById(id).getVisits());
+    }
+
+    @Test
+    void unknownIdIsNotFound() {
+        assertThrows(LinkNotFoundException.class, () -> linkService.redirectAndIncrement("zzzzzzzzzz"));
+    }
+
+    @Nested
+    @TestPropertySource(properties = {
+            "spring.datasource.url=jdbc:h2:mem:visits-immediate;DB_CLOSE_DELAY=-1",
+            "app.visits.write-behind=false"
+    })
+    class Immediate {
+
+        @Autowired
+        LinkService immediateLinkService;
+
+        @Autowired
+        LinkRepository immediateLinkRepository;
+
+        @Test
+        void concurrentRedirectsAreCountedWithoutFlush() throws Exception {
+            String id = create(immediateLinkService);
+
+            redirectConcurrently(immediateLinkService, id);
+
+            assertEquals(THREADS * REDIRECTS_PER_THREAD, immediateLinkRepository.findById(id).orElseThrow().getVisits());
+        }
+
+        @Test
+        void deletedLinkIsNotFoundEvenWhenCached() {
+            String id = create(immediateLinkService);
+            immediateLinkService.redirectAndIncrement(id);
+
+            immediateLinkRepository.deleteById(id);
+
+            assertThrows(LinkNotFoundException.class, () -> immediateLinkService.redirectAndIncrement(id));
+        }
+    }
+
+    private String create() {
+        return create(linkService);
+    }
+
+    private void redirectConcurrently(String id) throws Exception {
+        redirectConcurrently(linkService, id);
+    }
+
+    private static String create(LinkService linkService) {
+        return linkService.createLink(new CreateLinkDTO("visits-" + names.incrementAndGet(), "https://example.com", null)).getId();
+    }
+
+    private static void redirectConcurrently(LinkService linkService, String id) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < REDIRECTS_PER_THREAD; i++) {
+                        linkService.redirectAndIncrement(id);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}